@@ -0,0 +1,50 @@
+package com.nexus.investment_service.config;
+
+import com.nexus.investment_service.utils.StripedRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers admission control in front of the wallet-mutating endpoints, unless
+ * {@code investment.admission.enabled=false}. The flag is read at startup rather than through a bean
+ * condition, which AOT would freeze at build time.
+ */
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlConfig.class);
+
+    private final AdmissionControlInterceptor interceptor;
+    private final boolean enabled;
+
+    public AdmissionControlConfig(UserServiceBulkhead bulkhead,
+                                  @Value("${investment.admission.enabled:true}") boolean enabled,
+                                  @Value("${investment.admission.stripes:4096}") int stripes,
+                                  @Value("${investment.admission.user-permits-per-second:5}") double userRate,
+                                  @Value("${investment.admission.user-burst:10}") int userBurst,
+                                  @Value("${investment.admission.request-permits-per-second:200}") double requestRate,
+                                  @Value("${investment.admission.request-burst:400}") int requestBurst) {
+        this.enabled = enabled;
+        log.info("Configuring admission control enabled={} stripes={} userRate={}/s userBurst={} requestRate={}/s requestBurst={}",
+                enabled, stripes, userRate, userBurst, requestRate, requestBurst);
+        this.interceptor = new AdmissionControlInterceptor(
+                new StripedRateLimiter(stripes, userRate, userBurst),
+                new StripedRateLimiter(stripes, requestRate, requestBurst),
+                bulkhead);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        registry.addInterceptor(interceptor)
+                .addPathPatterns(
+                        "/api/v1/funding-requests/*/investment",
+                        "/api/v1/funding-requests/*/distribute-returns");
+    }
+}
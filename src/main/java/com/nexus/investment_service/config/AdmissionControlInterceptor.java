@@ -0,0 +1,76 @@
+package com.nexus.investment_service.config;
+
+import com.nexus.investment_service.utils.StripedRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds wallet-mutating traffic with 429 and Retry-After before any Mongo or user service work starts.
+ * Checks, in order: saturation of the user service bulkhead, the per-user bucket (X-User-Id) and the
+ * per-request bucket (requestId path variable). A user permit is given back when the request bucket rejects.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlInterceptor.class);
+
+    private final StripedRateLimiter userLimiter;
+    private final StripedRateLimiter requestLimiter;
+    private final UserServiceBulkhead bulkhead;
+
+    public AdmissionControlInterceptor(StripedRateLimiter userLimiter, StripedRateLimiter requestLimiter, UserServiceBulkhead bulkhead) {
+        this.userLimiter = userLimiter;
+        this.requestLimiter = requestLimiter;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (bulkhead.isSaturated()) {
+            return reject(response, TimeUnit.SECONDS.toNanos(UserServiceBulkhead.RETRY_AFTER_SECONDS), "user-service", "in-flight");
+        }
+        String userId = request.getHeader("X-User-Id");
+        if (userId != null) {
+            long waitNanos = userLimiter.tryAcquire(userId);
+            if (waitNanos > 0) {
+                return reject(response, waitNanos, "user", userId);
+            }
+        }
+        String requestId = requestIdOf(request);
+        if (requestId != null) {
+            long waitNanos = requestLimiter.tryAcquire(requestId);
+            if (waitNanos > 0) {
+                if (userId != null) {
+                    userLimiter.release(userId);
+                }
+                return reject(response, waitNanos, "requestId", requestId);
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String requestIdOf(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables instanceof Map ? ((Map<String, String>) variables).get("requestId") : null;
+    }
+
+    private static boolean reject(HttpServletResponse response, long waitNanos, String limit, String key) throws IOException {
+        long retryAfterSeconds = Math.max(1L, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        log.warn("Admission rejected limit={} key={} retryAfter={}s", limit, key, retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write("Too many requests, retry after " + retryAfterSeconds + "s.");
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+package com.nexus.investment_service.config;
+
+import com.nexus.investment_service.model.ArchivedFundingRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared with {@code @Indexed} on the listed documents once the application is ready.
+ * Spring Data's auto-index-creation is off by default, and the archive is only ever read by funder, so
+ * without this every {@code /mine} and export scans the whole archive.
+ */
+@Component
+public class MongoIndexes {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexes.class);
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(ArchivedFundingRequest.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public MongoIndexes(MongoTemplate mongoTemplate,
+                        @Value("${investment.mongo.ensure-indexes:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!enabled) {
+            return;
+        }
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(document);
+                resolver.resolveIndexFor(document).forEach(indexOps::ensureIndex);
+                log.info("Indexes ensured collection={}", mongoTemplate.getCollectionName(document));
+            } catch (RuntimeException e) {
+                log.warn("Index creation failed collection={}: {}", mongoTemplate.getCollectionName(document), e.getMessage());
+            }
+        }
+    }
+}
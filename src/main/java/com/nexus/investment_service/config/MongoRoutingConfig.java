@@ -0,0 +1,70 @@
+package com.nexus.investment_service.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo templates used for read/write routing:
+ * <ul>
+ *   <li>{@code mongoTemplate} — primary reads, money-moving writes (repositories, leases, jobs)</li>
+ *   <li>{@code secondaryMongoTemplate} — read-only endpoints, secondaries bounded by maxStalenessSeconds</li>
+ *   <li>{@code cosmeticMongoTemplate} — title/description edits with a cheaper write concern</li>
+ * </ul>
+ */
+@Configuration
+public class MongoRoutingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoRoutingConfig.class);
+
+    @Bean
+    @Primary
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory factory, MongoConverter converter,
+                                       @Value("${investment.mongo.critical-write-concern:majority}") String writeConcern) {
+        MongoTemplate template = new MongoTemplate(factory, converter);
+        template.setWriteConcern(writeConcern(writeConcern));
+        log.info("Configuring primary MongoTemplate writeConcern={}", writeConcern);
+        return template;
+    }
+
+    @Bean
+    public MongoTemplate secondaryMongoTemplate(MongoDatabaseFactory factory, MongoConverter converter,
+                                                @Value("${investment.mongo.routing.enabled:false}") boolean routingEnabled,
+                                                @Value("${investment.mongo.read-preference:secondaryPreferred}") String readPreference,
+                                                @Value("${investment.mongo.max-staleness-seconds:90}") long maxStalenessSeconds) {
+        MongoTemplate template = new MongoTemplate(factory, converter);
+        if (routingEnabled) {
+            template.setReadPreference(ReadPreference.valueOf(readPreference, List.of(), maxStalenessSeconds, TimeUnit.SECONDS));
+            log.info("Configuring read MongoTemplate readPreference={} maxStalenessSeconds={}", readPreference, maxStalenessSeconds);
+        }
+        return template;
+    }
+
+    @Bean
+    public MongoTemplate cosmeticMongoTemplate(MongoDatabaseFactory factory, MongoConverter converter,
+                                               @Value("${investment.mongo.cosmetic-write-concern:w1}") String writeConcern) {
+        MongoTemplate template = new MongoTemplate(factory, converter);
+        template.setWriteConcern(writeConcern(writeConcern));
+        log.info("Configuring cosmetic MongoTemplate writeConcern={}", writeConcern);
+        return template;
+    }
+
+    private static WriteConcern writeConcern(String name) {
+        WriteConcern writeConcern = WriteConcern.valueOf(name.toUpperCase());
+        if (writeConcern == null) {
+            throw new IllegalArgumentException("Unknown write concern: " + name);
+        }
+        return writeConcern;
+    }
+}
@@ -0,0 +1,45 @@
+package com.nexus.investment_service.config;
+
+import com.nexus.investment_service.service.SlowRequestRecorder;
+import com.nexus.investment_service.utils.PhaseTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link PhaseTimings} breakdown for every funding request call and hands the finished breakdown
+ * to the {@link SlowRequestRecorder}.
+ */
+@Component
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private final SlowRequestRecorder slowRequestRecorder;
+
+    public RequestTimingFilter(SlowRequestRecorder slowRequestRecorder) {
+        this.slowRequestRecorder = slowRequestRecorder;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/v1/funding-requests");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PhaseTimings.start(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PhaseTimings timings = PhaseTimings.end();
+            if (timings != null) {
+                slowRequestRecorder.record(timings);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.nexus.investment_service.config;
+
+import com.nexus.investment_service.utils.PhaseTimings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Opt-in ({@code investment.timing.server-timing-header=true}) Server-Timing header carrying the phase
+ * breakdown of the current request. Added just before the body is written, while headers can still change.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    // A runtime flag rather than a bean condition, which AOT would freeze at build time
+    private final boolean enabled;
+
+    public ServerTimingAdvice(@Value("${investment.timing.server-timing-header:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        PhaseTimings timings = PhaseTimings.current();
+        if (timings != null) {
+            response.getHeaders().add("Server-Timing", timings.toServerTiming());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,26 @@
+package com.nexus.investment_service.config;
+
+import com.nexus.investment_service.controller.FundingRequestController;
+import com.nexus.investment_service.service.FundingRequestService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Keeps the funding request path eager when {@code spring.main.lazy-initialization} is on, so only
+ * non-critical beans (OpenAPI, Swagger UI, ...) are deferred to first use.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter fundingPathEagerFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                FundingRequestController.class,
+                FundingRequestService.class,
+                MongoTemplate.class,
+                WebClient.class);
+    }
+}
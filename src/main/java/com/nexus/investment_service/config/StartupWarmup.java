@@ -0,0 +1,62 @@
+package com.nexus.investment_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.investment_service.model.FundingRequest;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+import static com.nexus.investment_service.utils.Constants.STATUS_OPEN;
+
+/**
+ * Warm-up hook for the fast-startup mode: opens a pooled Mongo connection and runs a FundingRequest
+ * through Jackson once, so the first real request does not pay for either. Toggled at runtime by
+ * {@code investment.warmup.enabled} rather than a bean condition, which AOT would freeze at build time.
+ */
+@Component
+public class StartupWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public StartupWarmup(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                         @Value("${investment.warmup.enabled:false}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            mongoTemplate.executeCommand(new Document("ping", 1));
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(FundingRequest.class)).estimatedDocumentCount();
+        } catch (RuntimeException e) {
+            log.warn("Mongo warm-up failed: {}", e.getMessage());
+        }
+        try {
+            FundingRequest sample = new FundingRequest("warm-up", 100.0, 0.0, "warm-up", LocalDateTime.now(), "warm-up");
+            sample.setStatus(STATUS_OPEN);
+            sample.updateInvestorAmount("warm-up", 1.0);
+            byte[] json = objectMapper.writeValueAsBytes(sample);
+            objectMapper.readValue(json, FundingRequest.class);
+        } catch (Exception e) {
+            log.warn("Jackson warm-up failed: {}", e.getMessage());
+        }
+        log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,58 @@
+package com.nexus.investment_service.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global cap on concurrent debit calls to the user service. The debit that starts an operation holds a
+ * permit only while its HTTP call is in flight (not for the rest of the operation) and must get one within
+ * the wait budget or is rejected instead of piling up behind a slow user service; credits and reversals of
+ * an operation already under way are not capped.
+ */
+public class UserServiceBulkhead {
+
+    // Retry-After sent when a debit is shed here or admission control sees the bulkhead saturated
+    static final long RETRY_AFTER_SECONDS = 1;
+
+    private final Semaphore permits;
+    private final long waitNanos;
+
+    public UserServiceBulkhead(int maxInFlight, long waitMillis) {
+        this.permits = new Semaphore(maxInFlight);
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+    }
+
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    // 429 with Retry-After for a debit that could not get a permit
+    public ResponseStatusException rejection() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(RETRY_AFTER_SECONDS));
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "User service is at capacity.") {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    // Cheap saturation check used by admission control before any work is started
+    public boolean isSaturated() {
+        return permits.availablePermits() == 0;
+    }
+}
@@ -3,10 +3,12 @@ package com.nexus.investment_service.config;
 import com.nexus.investment_service.utils.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 @Configuration
 public class WebClientConfig {
@@ -14,14 +16,33 @@ public class WebClientConfig {
     private static final Logger log = LoggerFactory.getLogger(WebClientConfig.class);
 
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
+    public UserServiceBulkhead userServiceBulkhead(
+            @Value("${investment.admission.max-in-flight-user-calls:64}") int maxInFlight,
+            @Value("${investment.admission.user-call-wait-ms:250}") long waitMillis) {
+        log.info("Configuring user service bulkhead maxInFlight={} waitMs={}", maxInFlight, waitMillis);
+        return new UserServiceBulkhead(maxInFlight, waitMillis);
+    }
+
+    @Bean
+    public WebClient webClient(WebClient.Builder builder, UserServiceBulkhead bulkhead) {
         log.info("Configuring WebClient baseUrl={}", Constants.USER_SERVICE_BASE_URL);
         return builder
                 .baseUrl(Constants.USER_SERVICE_BASE_URL)
                 .exchangeStrategies(ExchangeStrategies.builder()
                         .codecs(cfg -> cfg.defaultCodecs().maxInMemorySize(2 * 1024 * 1024))
                         .build())
+                // Only the debit opening an operation is gated: shedding a later call would leave a payout half done
+                .filter((request, next) -> Mono.deferContextual(context -> {
+                    boolean gated = context.getOrDefault(Constants.USER_CALL_BULKHEAD_GATED, false);
+                    if (!gated) {
+                        return next.exchange(request);
+                    }
+                    if (!bulkhead.tryAcquire()) {
+                        log.warn("User service bulkhead full, rejecting call url={}", request.url());
+                        return Mono.error(bulkhead.rejection());
+                    }
+                    return next.exchange(request).doFinally(signal -> bulkhead.release());
+                }))
                 .build();
     }
 }
-
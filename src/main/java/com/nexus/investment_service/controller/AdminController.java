@@ -0,0 +1,31 @@
+package com.nexus.investment_service.controller;
+
+import com.nexus.investment_service.dto.SlowRequestDTO;
+import com.nexus.investment_service.service.SlowRequestRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+    private final SlowRequestRecorder slowRequestRecorder;
+
+    public AdminController(SlowRequestRecorder slowRequestRecorder) {
+        this.slowRequestRecorder = slowRequestRecorder;
+    }
+
+    // Phase breakdowns of the slowest funding request calls since startup, slowest first
+    @GetMapping("/slow-requests")
+    public ResponseEntity<List<SlowRequestDTO>> getSlowRequests() {
+        log.info("[HTTP] Get slow requests");
+        return ResponseEntity.ok(slowRequestRecorder.getSlowest());
+    }
+}
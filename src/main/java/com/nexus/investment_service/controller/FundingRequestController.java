@@ -4,14 +4,25 @@ import com.nexus.investment_service.dto.FundingRequestCreationDTO;
 import com.nexus.investment_service.dto.FundingRequestUpdateDTO;
 import com.nexus.investment_service.dto.FundingInvestmentDTO;
 import com.nexus.investment_service.model.FundingRequest;
+import com.nexus.investment_service.service.FundingReportService;
 import com.nexus.investment_service.service.FundingRequestService;
+import com.nexus.investment_service.service.FundingResponseCache;
+import com.nexus.investment_service.utils.ExportFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import static com.nexus.investment_service.utils.Constants.MAX_RANKING_LIMIT;
 
 @RestController
 @RequestMapping("/api/v1/funding-requests")
@@ -20,9 +31,11 @@ public class FundingRequestController {
 
     private static final Logger log = LoggerFactory.getLogger(FundingRequestController.class);
     private final FundingRequestService fundingRequestService;
+    private final FundingReportService fundingReportService;
 
-    public FundingRequestController(FundingRequestService fundingRequestService) {
+    public FundingRequestController(FundingRequestService fundingRequestService, FundingReportService fundingReportService) {
         this.fundingRequestService = fundingRequestService;
+        this.fundingReportService = fundingReportService;
     }
 
     @PostMapping
@@ -35,16 +48,32 @@ public class FundingRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<List<FundingRequest>> getAllFundingRequests() {
+    public ResponseEntity<byte[]> getAllFundingRequests(
+            @RequestHeader(value = "X-User-Id", required = false) String readerId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("[HTTP] Get all funding requests");
-        return ResponseEntity.ok(fundingRequestService.getAllFundingRequests());
+        return jsonBody(fundingRequestService.getAllFundingRequestsBody(readerId), acceptEncoding);
+    }
+
+    @GetMapping("/rankings/closing-soon")
+    public ResponseEntity<List<FundingRequest>> getClosingSoon(@RequestParam(defaultValue = "10") int limit) {
+        log.info("[HTTP] Get closing soon ranking limit={}", limit);
+        return ResponseEntity.ok(fundingRequestService.getClosingSoon(clampLimit(limit)));
+    }
+
+    @GetMapping("/rankings/almost-funded")
+    public ResponseEntity<List<FundingRequest>> getAlmostFunded(@RequestParam(defaultValue = "10") int limit) {
+        log.info("[HTTP] Get almost funded ranking limit={}", limit);
+        return ResponseEntity.ok(fundingRequestService.getAlmostFunded(clampLimit(limit)));
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<FundingRequest> getFundingRequestById(@PathVariable String requestId) {
+    public ResponseEntity<byte[]> getFundingRequestById(
+            @PathVariable String requestId,
+            @RequestHeader(value = "X-User-Id", required = false) String readerId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("[HTTP] Get funding request id={}", requestId);
-        FundingRequest request = fundingRequestService.getFundingRequestById(requestId);
-        return ResponseEntity.ok(request);
+        return jsonBody(fundingRequestService.getFundingRequestBody(requestId, readerId), acceptEncoding);
     }
 
     @PutMapping("/{requestId}")
@@ -81,4 +110,64 @@ public class FundingRequestController {
         List<FundingRequest> requests = fundingRequestService.getFundingRequestsByFunderId(funderId);
         return ResponseEntity.ok(requests);
     }
+
+    @GetMapping("/mine/export/payouts")
+    public ResponseEntity<StreamingResponseBody> exportMyPayouts(
+            @RequestHeader("X-User-Id") String funderId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("[HTTP] Export payouts funderId={} format={}", funderId, format);
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return export("payouts", funderId, exportFormat, acceptEncoding,
+                out -> fundingReportService.writePayouts(funderId, exportFormat, out));
+    }
+
+    @GetMapping("/mine/export/investments")
+    public ResponseEntity<StreamingResponseBody> exportMyInvestments(
+            @RequestHeader("X-User-Id") String funderId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("[HTTP] Export investments funderId={} format={}", funderId, format);
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return export("investments", funderId, exportFormat, acceptEncoding,
+                out -> fundingReportService.writeInvestments(funderId, exportFormat, out));
+    }
+
+    // Rows are written to the response as the Mongo cursor advances; gzip is applied on the fly when accepted
+    private static ResponseEntity<StreamingResponseBody> export(String report, String funderId, ExportFormat format,
+                                                                String acceptEncoding, StreamingResponseBody body) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + report + "-" + funderId.replaceAll("[^A-Za-z0-9_-]", "_") + "." + format.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return response.body(body);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+            try (OutputStream compressed = new GZIPOutputStream(out, 8 * 1024)) {
+                body.writeTo(compressed);
+            }
+        });
+    }
+
+    // Pre-serialized JSON (and its gzip variant) is written as-is by the byte array converter
+    private static ResponseEntity<byte[]> jsonBody(FundingResponseCache.Body body, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.isCompressible() && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_RANKING_LIMIT));
+    }
 }
@@ -0,0 +1,33 @@
+package com.nexus.investment_service.controller;
+
+import com.nexus.investment_service.dto.JobStatusDTO;
+import com.nexus.investment_service.service.ClusterJobRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobStatusController {
+
+    private static final Logger log = LoggerFactory.getLogger(JobStatusController.class);
+    private final ObjectProvider<ClusterJobRunner> clusterJobRunner;
+
+    public JobStatusController(ObjectProvider<ClusterJobRunner> clusterJobRunner) {
+        this.clusterJobRunner = clusterJobRunner;
+    }
+
+    // Shard ownership and local throughput per job; empty when no job is enabled on this node
+    @GetMapping
+    public ResponseEntity<List<JobStatusDTO>> getJobStatus() {
+        log.info("[HTTP] Get cluster job status");
+        ClusterJobRunner runner = clusterJobRunner.getIfAvailable();
+        return ResponseEntity.ok(runner == null ? List.of() : runner.getStatus());
+    }
+}
@@ -0,0 +1,67 @@
+package com.nexus.investment_service.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Status of one cluster job as seen from this node: lease ownership of every shard plus local throughput.
+ */
+public class JobStatusDTO {
+
+    public static class ShardLease {
+        private int shard;
+        private String owner;
+        private long leaseToken;
+        private Instant expiresAt;
+        private boolean ownedByThisNode;
+
+        public ShardLease() {}
+
+        public ShardLease(int shard, String owner, long leaseToken, Instant expiresAt, boolean ownedByThisNode) {
+            this.shard = shard;
+            this.owner = owner;
+            this.leaseToken = leaseToken;
+            this.expiresAt = expiresAt;
+            this.ownedByThisNode = ownedByThisNode;
+        }
+
+        public int getShard() { return shard; }
+        public String getOwner() { return owner; }
+        public long getLeaseToken() { return leaseToken; }
+        public Instant getExpiresAt() { return expiresAt; }
+        public boolean isOwnedByThisNode() { return ownedByThisNode; }
+    }
+
+    private String job;
+    private String nodeId;
+    private int shardCount;
+    private List<ShardLease> shards;
+    private long runs;
+    private long itemsProcessed;
+    private double itemsPerSecond;
+    private Instant lastRunAt;
+
+    public String getJob() { return job; }
+    public void setJob(String job) { this.job = job; }
+
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+
+    public int getShardCount() { return shardCount; }
+    public void setShardCount(int shardCount) { this.shardCount = shardCount; }
+
+    public List<ShardLease> getShards() { return shards; }
+    public void setShards(List<ShardLease> shards) { this.shards = shards; }
+
+    public long getRuns() { return runs; }
+    public void setRuns(long runs) { this.runs = runs; }
+
+    public long getItemsProcessed() { return itemsProcessed; }
+    public void setItemsProcessed(long itemsProcessed) { this.itemsProcessed = itemsProcessed; }
+
+    public double getItemsPerSecond() { return itemsPerSecond; }
+    public void setItemsPerSecond(double itemsPerSecond) { this.itemsPerSecond = itemsPerSecond; }
+
+    public Instant getLastRunAt() { return lastRunAt; }
+    public void setLastRunAt(Instant lastRunAt) { this.lastRunAt = lastRunAt; }
+}
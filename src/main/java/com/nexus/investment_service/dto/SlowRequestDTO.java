@@ -0,0 +1,26 @@
+package com.nexus.investment_service.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Phase breakdown of one recorded slow request (phase name -> milliseconds).
+ */
+public class SlowRequestDTO {
+    private final String operation;
+    private final Instant finishedAt;
+    private final double totalMillis;
+    private final Map<String, Double> phaseMillis;
+
+    public SlowRequestDTO(String operation, Instant finishedAt, double totalMillis, Map<String, Double> phaseMillis) {
+        this.operation = operation;
+        this.finishedAt = finishedAt;
+        this.totalMillis = totalMillis;
+        this.phaseMillis = phaseMillis;
+    }
+
+    public String getOperation() { return operation; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public double getTotalMillis() { return totalMillis; }
+    public Map<String, Double> getPhaseMillis() { return phaseMillis; }
+}
@@ -0,0 +1,93 @@
+package com.nexus.investment_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Settled funding request moved out of the live collection by the archiver.
+ * Only read back by id or funderId, so fields are stored under short keys to keep
+ * archived documents compact.
+ */
+@Document(collection = "funding_requests_archive")
+public class ArchivedFundingRequest {
+    @Id
+    private String id;
+
+    @Field("t")
+    private String title;
+    @Field("ra")
+    private double requiredAmount;
+    @Field("cf")
+    private double currentFunded;
+    @Indexed // /mine and the exports read the archive by funder
+    @Field("f")
+    private String funderId;
+    @Field("s")
+    private String status;
+    @Field("ca")
+    private LocalDateTime createdAt;
+    @Field("dl")
+    private LocalDateTime deadline;
+    @Field("ia")
+    private Map<String, Double> investorAmounts;
+    @Field("cr")
+    private double committedReturnAmount;
+    @Field("d")
+    private String description;
+    @Field("rd")
+    private boolean returnDistributed;
+    @Field("aa")
+    private LocalDateTime archivedAt;
+
+    public ArchivedFundingRequest() {
+        // no-args constructor for framework
+    }
+
+    public static ArchivedFundingRequest from(FundingRequest request) {
+        ArchivedFundingRequest archived = new ArchivedFundingRequest();
+        archived.id = request.getId();
+        archived.title = request.getTitle();
+        archived.requiredAmount = request.getRequiredAmount();
+        archived.currentFunded = request.getCurrentFunded();
+        archived.funderId = request.getFunderId();
+        archived.status = request.getStatus();
+        archived.createdAt = request.getCreatedAt();
+        archived.deadline = request.getDeadline();
+        archived.investorAmounts = request.getInvestorAmounts();
+        archived.committedReturnAmount = request.getCommittedReturnAmount();
+        archived.description = request.getDescription();
+        archived.returnDistributed = request.isReturnDistributed();
+        archived.archivedAt = LocalDateTime.now();
+        return archived;
+    }
+
+    public FundingRequest toFundingRequest() {
+        FundingRequest request = new FundingRequest();
+        request.setId(id);
+        request.setTitle(title);
+        request.setRequiredAmount(requiredAmount);
+        request.setCurrentFunded(currentFunded);
+        request.setFunderId(funderId);
+        request.setStatus(status);
+        request.setCreatedAt(createdAt);
+        request.setDeadline(deadline);
+        request.setInvestorAmounts(investorAmounts);
+        request.setCommittedReturnAmount(committedReturnAmount);
+        request.setDescription(description);
+        request.setReturnDistributed(returnDistributed);
+        return request;
+    }
+
+    // --- Getters ---
+
+    public String getId() { return id; }
+
+    public String getFunderId() { return funderId; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,59 @@
+package com.nexus.investment_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Lease on one shard of a cluster job. The holder renews {@code expiresAt} with heartbeats; once it lapses
+ * another node may take the shard over, which bumps {@code leaseToken} so the previous holder's heartbeats
+ * and lease checks fail. The token is not carried by job writes; those stay safe to repeat on their own.
+ */
+@Document(collection = "job_leases")
+public class JobLease {
+    @Id
+    private String id; // "<jobName>:<shard>"
+
+    private String jobName;
+    private int shard;
+    private String owner;
+    private long leaseToken;
+    private Instant acquiredAt;
+    private Instant heartbeatAt;
+    private Instant expiresAt;
+
+    public JobLease() {
+        // no-args constructor for framework
+    }
+
+    public static String idOf(String jobName, int shard) {
+        return jobName + ":" + shard;
+    }
+
+    // --- Getters and Setters ---
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public int getShard() { return shard; }
+    public void setShard(int shard) { this.shard = shard; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public long getLeaseToken() { return leaseToken; }
+    public void setLeaseToken(long leaseToken) { this.leaseToken = leaseToken; }
+
+    public Instant getAcquiredAt() { return acquiredAt; }
+    public void setAcquiredAt(Instant acquiredAt) { this.acquiredAt = acquiredAt; }
+
+    public Instant getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(Instant heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,16 @@
+package com.nexus.investment_service.repository;
+
+import com.nexus.investment_service.model.ArchivedFundingRequest;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for settled funding requests moved out of the live collection.
+ */
+@Repository
+public interface ArchivedFundingRequestRepository extends MongoRepository<ArchivedFundingRequest, String> {
+    // Fetch all archived funding requests created by a particular funder
+    List<ArchivedFundingRequest> findByFunderId(String funderId);
+}
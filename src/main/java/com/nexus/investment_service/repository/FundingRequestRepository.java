@@ -2,6 +2,7 @@ package com.nexus.investment_service.repository;
 
 import com.nexus.investment_service.model.FundingRequest;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +14,8 @@ import java.util.List;
 public interface FundingRequestRepository extends MongoRepository<FundingRequest, String> {
     // Fetch all funding requests created by a particular funder
     List<FundingRequest> findByFunderId(String funderId);
+
+    // Funding requests in a given status with only the fields the rankings keep (no investors, no description)
+    @Query(value = "{ 'status': ?0 }", fields = "{ 'title': 1, 'requiredAmount': 1, 'currentFunded': 1, 'deadline': 1, 'status': 1 }")
+    List<FundingRequest> findRankingViewByStatus(String status);
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.nexus.investment_service.repository;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.nexus.investment_service.model.FundingRequest;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.nexus.investment_service.utils.Constants.STATUS_OPEN;
+
+/**
+ * Routes FundingRequest reads to secondaries and writes to the write concern they need.
+ * <p>
+ * Writes made on behalf of a user run in a causally consistent session, and the session's operation and
+ * cluster time are remembered for that user. That user's next read within the staleness window runs in a
+ * session advanced to those times, so the secondary waits until it has caught up (read-your-writes). After
+ * maxStalenessSeconds any eligible secondary already has the write, so the token is dropped.
+ */
+@Component
+public class FundingRequestRouting {
+
+    private static final ClientSessionOptions CAUSAL = ClientSessionOptions.builder().causallyConsistent(true).build();
+    private static final int MAX_TRACKED_WRITERS = 100_000;
+
+    private record CausalToken(BsonTimestamp operationTime, BsonDocument clusterTime, long recordedAtNanos) {}
+
+    private final MongoDatabaseFactory factory;
+    private final MongoTemplate primary;
+    private final MongoTemplate secondary;
+    private final MongoTemplate cosmetic;
+    private final boolean routingEnabled;
+    private final long tokenTtlNanos;
+    private final ConcurrentHashMap<String, CausalToken> lastWrites = new ConcurrentHashMap<>();
+
+    public FundingRequestRouting(MongoDatabaseFactory factory,
+                                 MongoTemplate mongoTemplate,
+                                 @Qualifier("secondaryMongoTemplate") MongoTemplate secondaryMongoTemplate,
+                                 @Qualifier("cosmeticMongoTemplate") MongoTemplate cosmeticMongoTemplate,
+                                 @Value("${investment.mongo.routing.enabled:false}") boolean routingEnabled,
+                                 @Value("${investment.mongo.max-staleness-seconds:90}") long maxStalenessSeconds) {
+        this.factory = factory;
+        this.primary = mongoTemplate;
+        this.secondary = secondaryMongoTemplate;
+        this.cosmetic = cosmeticMongoTemplate;
+        this.routingEnabled = routingEnabled;
+        this.tokenTtlNanos = TimeUnit.SECONDS.toNanos(maxStalenessSeconds);
+    }
+
+    public Optional<FundingRequest> findById(String id, String readerId) {
+        return Optional.ofNullable(read(readerId, ops -> ops.findById(id, FundingRequest.class)));
+    }
+
+    public List<FundingRequest> findAll(String readerId) {
+        return read(readerId, ops -> ops.findAll(FundingRequest.class));
+    }
+
+    // The funder is the reader here, so a funder who just created or edited a request sees it
+    public List<FundingRequest> findByFunderId(String funderId) {
+        return read(funderId, ops -> ops.find(Query.query(Criteria.where("funderId").is(funderId)), FundingRequest.class));
+    }
+
+    // True while the reader's reads still depend on a causal session to see their own last write
+    public boolean hasRecentWrite(String readerId) {
+        CausalToken token = readerId == null ? null : lastWrites.get(readerId);
+        return token != null && !isExpired(token);
+    }
+
+    // Money-moving or lifecycle writes: primary template write concern (majority by default)
+    public FundingRequest saveCritical(FundingRequest request, Collection<String> actorIds) {
+        return write(primary, actorIds, ops -> ops.save(request));
+    }
+
+    // Investment commits: full replace, but only while the stored request is still OPEN (it may have been closed
+    // or archived since it was read); null if not, so the caller can compensate instead of resurrecting it
+    public FundingRequest saveCriticalIfOpen(FundingRequest request, Collection<String> actorIds) {
+        Query open = Query.query(Criteria.where("_id").is(request.getId()).and("status").is(STATUS_OPEN));
+        return write(primary, actorIds, ops -> ops.replace(open, request).getMatchedCount() == 0 ? null : request);
+    }
+
+    // Deadline/committed return edits: targeted $set at the critical write concern; null once the request left OPEN
+    public FundingRequest updateCritical(String id, Update update, Collection<String> actorIds) {
+        return updateOpen(primary, id, update, actorIds);
+    }
+
+    // Title/description edits: targeted $set at the cheaper write concern, so money fields are never rewritten by it
+    public FundingRequest updateCosmetic(String id, Update update, String actorId) {
+        return updateOpen(cosmetic, id, update, actorId == null ? List.of() : List.of(actorId));
+    }
+
+    // Reads the result back from the primary in the same session, so it reflects the update even at w1
+    private FundingRequest updateOpen(MongoTemplate template, String id, Update update, Collection<String> actorIds) {
+        Query open = Query.query(Criteria.where("_id").is(id).and("status").is(STATUS_OPEN));
+        return write(template, actorIds, ops -> ops.updateFirst(open, update, FundingRequest.class).getMatchedCount() == 0
+                ? null
+                : ops.findById(id, FundingRequest.class));
+    }
+
+    private <T> T write(MongoTemplate template, Collection<String> actorIds, Function<MongoOperations, T> operation) {
+        if (!routingEnabled || actorIds.isEmpty()) {
+            return operation.apply(template);
+        }
+        try (ClientSession session = factory.getSession(CAUSAL)) {
+            T result = operation.apply(template.withSession(session));
+            CausalToken token = new CausalToken(session.getOperationTime(), session.getClusterTime(), System.nanoTime());
+            if (lastWrites.size() >= MAX_TRACKED_WRITERS) {
+                evictExpired();
+            }
+            actorIds.forEach(actorId -> lastWrites.put(actorId, token));
+            return result;
+        }
+    }
+
+    private <T> T read(String readerId, Function<MongoOperations, T> operation) {
+        CausalToken token = readerId == null ? null : lastWrites.get(readerId);
+        if (token != null && isExpired(token)) {
+            lastWrites.remove(readerId, token);
+            token = null;
+        }
+        if (!routingEnabled || token == null) {
+            return operation.apply(secondary);
+        }
+        try (ClientSession session = factory.getSession(CAUSAL)) {
+            if (token.clusterTime() != null) {
+                session.advanceClusterTime(token.clusterTime());
+            }
+            if (token.operationTime() != null) {
+                session.advanceOperationTime(token.operationTime());
+            }
+            return operation.apply(secondary.withSession(session));
+        }
+    }
+
+    private boolean isExpired(CausalToken token) {
+        return System.nanoTime() - token.recordedAtNanos() > tokenTtlNanos;
+    }
+
+    private void evictExpired() {
+        lastWrites.values().removeIf(this::isExpired);
+        if (lastWrites.size() >= MAX_TRACKED_WRITERS) {
+            // Pathological burst of distinct writers: forget everyone, reads fall back to bounded staleness
+            lastWrites.clear();
+        }
+    }
+}
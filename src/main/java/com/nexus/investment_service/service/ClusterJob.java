@@ -0,0 +1,28 @@
+package com.nexus.investment_service.service;
+
+import java.time.Duration;
+
+/**
+ * Periodic background work that is split into shards and run by whichever replica holds each shard's lease.
+ * Beans implementing this interface are picked up by {@link ClusterJobRunner}.
+ */
+public interface ClusterJob {
+
+    String name();
+
+    // Read at runtime: a bean condition on the job's flag would be frozen into an AOT build
+    default boolean enabled() { return true; }
+
+    int shardCount();
+
+    Duration interval();
+
+    /**
+     * Processes one shard. Implementations should call {@link JobShard#confirmLease()} before each batch of
+     * writes and stop when it returns false. The check is not atomic with the writes, and shard bounds move
+     * between runs, so every write must be conditional on the document's own state and safe to repeat.
+     *
+     * @return number of items processed, used for throughput reporting
+     */
+    long runShard(JobShard shard);
+}
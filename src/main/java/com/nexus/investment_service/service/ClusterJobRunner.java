@@ -0,0 +1,217 @@
+package com.nexus.investment_service.service;
+
+import com.nexus.investment_service.dto.JobStatusDTO;
+import com.nexus.investment_service.model.JobLease;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs {@link ClusterJob}s across replicas. Every heartbeat the runner announces this node, renews the shard
+ * leases it holds, and claims free or expired shards up to its fair share per job: shards divided by live
+ * nodes, rounded up and capped at {@code investment.jobs.max-shards-per-node}. Shards above the fair share
+ * are released so a node that just joined can pick them up. Due shards are dispatched to a worker pool.
+ * Heartbeats run on the scheduler thread so a long shard run cannot let its own lease lapse.
+ * <p>
+ * {@code investment.jobs.enabled} and each job's own flag are read at startup instead of through bean
+ * conditions, so they can still be changed on an AOT-built artifact; with no enabled job the runner is idle.
+ */
+@Component
+public class ClusterJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterJobRunner.class);
+
+    private static final class HeldShard {
+        private volatile JobLease lease;
+        private volatile long nextRunAt;
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private HeldShard(JobLease lease) {
+            this.lease = lease;
+        }
+    }
+
+    private static final class JobStats {
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder processed = new LongAdder();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private volatile Instant lastRunAt;
+    }
+
+    private final List<ClusterJob> jobs;
+    private final LeaseManager leaseManager;
+    private final ExecutorService workers;
+    private final int maxShardsPerNode;
+    private final Map<String, HeldShard> held = new ConcurrentHashMap<>();
+    private final Map<String, JobStats> stats = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClusterJobRunner(List<ClusterJob> jobs, LeaseManager leaseManager,
+                            @Value("${investment.jobs.enabled:false}") boolean enabled,
+                            @Value("${investment.jobs.max-shards-per-node:8}") int maxShardsPerNode,
+                            @Value("${investment.jobs.worker-threads:2}") int workerThreads) {
+        this(enabled ? jobs.stream().filter(ClusterJob::enabled).toList() : List.of(), leaseManager, maxShardsPerNode,
+                Executors.newFixedThreadPool(workerThreads));
+    }
+
+    ClusterJobRunner(List<ClusterJob> jobs, LeaseManager leaseManager, int maxShardsPerNode, ExecutorService workers) {
+        this.jobs = jobs;
+        this.leaseManager = leaseManager;
+        this.maxShardsPerNode = maxShardsPerNode;
+        this.workers = workers;
+        jobs.forEach(job -> stats.put(job.name(), new JobStats()));
+        log.info("Cluster job runner started nodeId={} jobs={}", leaseManager.getNodeId(), jobs.stream().map(ClusterJob::name).toList());
+    }
+
+    @Scheduled(fixedDelayString = "${investment.jobs.heartbeat-ms:5000}")
+    public void heartbeat() {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        int liveNodes;
+        try {
+            leaseManager.announce();
+            liveNodes = Math.max(1, leaseManager.countLiveNodes());
+        } catch (RuntimeException e) {
+            log.warn("Cluster job membership heartbeat failed: {}", e.getMessage());
+            return;
+        }
+        for (ClusterJob job : jobs) {
+            try {
+                maintainLeases(job, liveNodes);
+                dispatchDueShards(job);
+            } catch (RuntimeException e) {
+                log.warn("Cluster job heartbeat failed job={}: {}", job.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void maintainLeases(ClusterJob job, int liveNodes) {
+        int fairShare = Math.min(maxShardsPerNode, Math.ceilDiv(job.shardCount(), liveNodes));
+        int owned = 0;
+        // Start probing at a node-specific offset so replicas do not all race for shard 0
+        int offset = Math.floorMod(leaseManager.getNodeId().hashCode(), job.shardCount());
+        for (int i = 0; i < job.shardCount(); i++) {
+            int shard = (offset + i) % job.shardCount();
+            String id = JobLease.idOf(job.name(), shard);
+            HeldShard current = held.get(id);
+            if (current != null) {
+                JobLease renewed = leaseManager.renew(current.lease);
+                if (renewed == null) {
+                    held.remove(id);
+                    log.warn("Lease lost lease={} leaseToken={}", id, current.lease.getLeaseToken());
+                } else if (owned >= fairShare && current.running.compareAndSet(false, true)) {
+                    // Above the fair share: hand it back; the running flag stays set so no run starts meanwhile
+                    held.remove(id);
+                    leaseManager.release(renewed);
+                    log.info("Shard released job={} shard={} fairShare={} liveNodes={}", job.name(), shard, fairShare, liveNodes);
+                } else {
+                    current.lease = renewed;
+                    owned++;
+                }
+            }
+        }
+        for (int i = 0; i < job.shardCount() && owned < fairShare; i++) {
+            int shard = (offset + i) % job.shardCount();
+            String id = JobLease.idOf(job.name(), shard);
+            if (held.containsKey(id)) {
+                continue;
+            }
+            var acquired = leaseManager.tryAcquire(job.name(), shard);
+            if (acquired.isPresent()) {
+                held.put(id, new HeldShard(acquired.get()));
+                owned++;
+                log.info("Shard claimed job={} shard={} leaseToken={}", job.name(), shard, acquired.get().getLeaseToken());
+            }
+        }
+    }
+
+    private void dispatchDueShards(ClusterJob job) {
+        long now = System.currentTimeMillis();
+        held.values().stream()
+                .filter(h -> h.lease.getJobName().equals(job.name()))
+                .filter(h -> h.nextRunAt <= now)
+                .filter(h -> h.running.compareAndSet(false, true))
+                .forEach(h -> workers.execute(() -> runShard(job, h)));
+    }
+
+    private void runShard(ClusterJob job, HeldShard shard) {
+        JobStats jobStats = stats.get(job.name());
+        long start = System.nanoTime();
+        try {
+            long processed = job.runShard(new JobShard(shard.lease, job.shardCount(), leaseManager));
+            jobStats.processed.add(processed);
+            if (processed > 0) {
+                log.info("Cluster job shard finished job={} shard={} processed={}", job.name(), shard.lease.getShard(), processed);
+            }
+        } catch (RuntimeException e) {
+            log.error("Cluster job shard failed job={} shard={}: {}", job.name(), shard.lease.getShard(), e.getMessage());
+        } finally {
+            jobStats.runs.increment();
+            jobStats.busyNanos.addAndGet(System.nanoTime() - start);
+            jobStats.lastRunAt = Instant.now();
+            shard.nextRunAt = System.currentTimeMillis() + job.interval().toMillis();
+            shard.running.set(false);
+        }
+    }
+
+    public List<JobStatusDTO> getStatus() {
+        String nodeId = leaseManager.getNodeId();
+        return jobs.stream().map(job -> {
+            JobStats jobStats = stats.get(job.name());
+            JobStatusDTO status = new JobStatusDTO();
+            status.setJob(job.name());
+            status.setNodeId(nodeId);
+            status.setShardCount(job.shardCount());
+            status.setShards(leaseManager.findByJob(job.name()).stream()
+                    .sorted(Comparator.comparingInt(JobLease::getShard))
+                    .map(lease -> new JobStatusDTO.ShardLease(lease.getShard(), lease.getOwner(), lease.getLeaseToken(),
+                            lease.getExpiresAt(), nodeId.equals(lease.getOwner())))
+                    .toList());
+            long processed = jobStats.processed.sum();
+            long busyNanos = jobStats.busyNanos.get();
+            status.setRuns(jobStats.runs.sum());
+            status.setItemsProcessed(processed);
+            status.setItemsPerSecond(busyNanos == 0 ? 0.0 : processed / (busyNanos / 1_000_000_000.0));
+            status.setLastRunAt(jobStats.lastRunAt);
+            return status;
+        }).toList();
+    }
+
+    // Hand shards back on shutdown so another replica can pick them up without waiting for expiry
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        held.values().forEach(h -> {
+            try {
+                leaseManager.release(h.lease);
+            } catch (RuntimeException e) {
+                log.warn("Lease release failed lease={}: {}", h.lease.getId(), e.getMessage());
+            }
+        });
+        held.clear();
+        if (jobs.isEmpty()) {
+            return;
+        }
+        try {
+            leaseManager.withdraw();
+        } catch (RuntimeException e) {
+            log.warn("Cluster membership withdraw failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.nexus.investment_service.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.nexus.investment_service.model.FundingRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.nexus.investment_service.utils.Constants.STATUS_CLOSED;
+import static com.nexus.investment_service.utils.Constants.STATUS_OPEN;
+
+/**
+ * Closes OPEN funding requests whose deadline has passed. The status flip is conditional on the request
+ * still being OPEN, so an investment that funded it in the meantime wins and a repeated batch changes nothing.
+ * The other writers never undo it: investment commits replace the document only while it is still OPEN
+ * (otherwise the batch is refunded), and edits are {@code $set}s conditional on OPEN.
+ * Requests it closes are pushed through the local rankings and response cache the same way
+ * {@link FundingRequestService} does after a save; other replicas catch up through their resync and TTL.
+ * Investor refunds for closed, unfunded requests are not handled here.
+ */
+@Component
+public class DeadlineSweepJob implements ClusterJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineSweepJob.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final FundingRequestRankings fundingRequestRankings;
+    private final FundingResponseCache fundingResponseCache;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int shardCount;
+    private final Duration interval;
+
+    public DeadlineSweepJob(MongoTemplate mongoTemplate,
+                            FundingRequestRankings fundingRequestRankings,
+                            FundingResponseCache fundingResponseCache,
+                            @Value("${investment.jobs.deadline-sweep.enabled:false}") boolean enabled,
+                            @Value("${investment.jobs.deadline-sweep.batch-size:500}") int batchSize,
+                            @Value("${investment.jobs.deadline-sweep.shards:8}") int shardCount,
+                            @Value("${investment.jobs.deadline-sweep.interval-ms:60000}") long intervalMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.fundingRequestRankings = fundingRequestRankings;
+        this.fundingResponseCache = fundingResponseCache;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.shardCount = shardCount;
+        this.interval = Duration.ofMillis(intervalMillis);
+    }
+
+    @Override
+    public String name() { return "deadline-sweep"; }
+
+    @Override
+    public boolean enabled() { return enabled; }
+
+    @Override
+    public int shardCount() { return shardCount; }
+
+    @Override
+    public Duration interval() { return interval; }
+
+    @Override
+    public long runShard(JobShard shard) {
+        long closed = 0;
+        Criteria inShard = shard.idCriteria(mongoTemplate, FundingRequest.class);
+        while (true) {
+            Query expired = Query.query(new Criteria().andOperator(
+                    inShard,
+                    Criteria.where("status").is(STATUS_OPEN).and("deadline").lt(LocalDateTime.now())))
+                    .limit(batchSize);
+            expired.fields().include("_id");
+            List<String> ids = mongoTemplate.find(expired, FundingRequest.class).stream().map(FundingRequest::getId).toList();
+            if (ids.isEmpty() || !shard.confirmLease()) {
+                break;
+            }
+            UpdateResult result = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids).and("status").is(STATUS_OPEN)),
+                    new Update().set("status", STATUS_CLOSED),
+                    FundingRequest.class);
+            closed += result.getModifiedCount();
+            if (result.getModifiedCount() > 0) {
+                publishClosed(ids);
+            }
+            log.info("Closed expired funding requests shard={} count={}", shard.getShard(), result.getModifiedCount());
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return closed;
+    }
+
+    // Re-reads the batch so the rankings drop the requests that are now CLOSED and no cached body outlives them
+    private void publishClosed(List<String> ids) {
+        mongoTemplate.find(Query.query(Criteria.where("_id").in(ids).and("status").is(STATUS_CLOSED)), FundingRequest.class)
+                .forEach(request -> {
+                    fundingRequestRankings.update(request);
+                    fundingResponseCache.invalidate(request.getId());
+                });
+    }
+}
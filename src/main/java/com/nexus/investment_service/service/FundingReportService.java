@@ -0,0 +1,235 @@
+package com.nexus.investment_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.investment_service.model.ArchivedFundingRequest;
+import com.nexus.investment_service.model.FundingRequest;
+import com.nexus.investment_service.utils.ExportFormat;
+import com.nexus.investment_service.utils.Payouts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams per-investor reports over a funder's funding requests (live and archived) straight from Mongo
+ * cursors to the response. At most one cursor batch of documents is in memory, and rows are flushed to the
+ * client at cursor batch boundaries, so a slow client throttles the cursor instead of the report being buffered.
+ */
+@Service
+public class FundingReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(FundingReportService.class);
+
+    private static final int CURSOR_BATCH_SIZE = 100;
+
+    static final String[] PAYOUT_COLUMNS = {
+            "requestId", "title", "status", "returnDistributed", "investorId", "principal", "returnShare", "totalCredit"};
+    static final String[] INVESTMENT_COLUMNS = {
+            "requestId", "title", "status", "deadline", "investorId", "investedAmount", "shareOfRaised"};
+
+    private final MongoTemplate readTemplate;
+    private final ObjectMapper objectMapper;
+
+    public FundingReportService(@Qualifier("secondaryMongoTemplate") MongoTemplate readTemplate, ObjectMapper objectMapper) {
+        this.readTemplate = readTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Payout statement: principal, pro-rata share of the committed return and total credit per investor, as
+     * computed by distributeReturns. For requests not yet distributed the figures are what would be paid today.
+     */
+    public void writePayouts(String funderId, ExportFormat format, OutputStream out) throws IOException {
+        writeReport(funderId, format, out, PAYOUT_COLUMNS, (request, rows) -> {
+            double totalPrincipal = request.getCurrentFunded();
+            double committedReturn = request.getCommittedReturnAmount();
+            for (Map.Entry<String, Double> investor : request.getInvestorAmounts().entrySet()) {
+                double principal = investor.getValue();
+                double returnShare = Payouts.returnShare(principal, totalPrincipal, committedReturn);
+                rows.row(request.getId(), request.getTitle(), request.getStatus(), request.isReturnDistributed(),
+                        investor.getKey(), principal, returnShare, principal + returnShare);
+            }
+        });
+    }
+
+    // Investment history: amount each investor holds in each of the funder's requests
+    public void writeInvestments(String funderId, ExportFormat format, OutputStream out) throws IOException {
+        writeReport(funderId, format, out, INVESTMENT_COLUMNS, (request, rows) -> {
+            double raised = request.getCurrentFunded();
+            for (Map.Entry<String, Double> investor : request.getInvestorAmounts().entrySet()) {
+                rows.row(request.getId(), request.getTitle(), request.getStatus(), request.getDeadline(),
+                        investor.getKey(), investor.getValue(), raised > 0 ? investor.getValue() / raised : 0.0);
+            }
+        });
+    }
+
+    private interface RowProducer {
+        void produce(FundingRequest request, RowWriter rows) throws IOException;
+    }
+
+    private void writeReport(String funderId, ExportFormat format, OutputStream out, String[] columns, RowProducer producer)
+            throws IOException {
+        long start = System.nanoTime();
+        long documents = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try (RowWriter rows = format == ExportFormat.CSV ? new CsvRowWriter(writer, columns) : new NdjsonRowWriter(writer, columns, objectMapper)) {
+            try (Stream<FundingRequest> cursor = readTemplate.stream(reportQuery(funderId), FundingRequest.class)) {
+                for (FundingRequest request : (Iterable<FundingRequest>) cursor::iterator) {
+                    produce(producer, request, rows);
+                    if (++documents % CURSOR_BATCH_SIZE == 0) {
+                        rows.flush();
+                    }
+                }
+            }
+            List<FundingRequest> batch = new ArrayList<>(CURSOR_BATCH_SIZE);
+            try (Stream<ArchivedFundingRequest> cursor = readTemplate.stream(reportQuery(funderId), ArchivedFundingRequest.class)) {
+                for (ArchivedFundingRequest request : (Iterable<ArchivedFundingRequest>) cursor::iterator) {
+                    batch.add(request.toFundingRequest());
+                    if (batch.size() == CURSOR_BATCH_SIZE) {
+                        documents += produceArchived(producer, batch, rows);
+                        batch.clear();
+                    }
+                }
+            }
+            documents += produceArchived(producer, batch, rows);
+        }
+        log.info("Report exported funderId={} format={} requests={} tookMs={}", funderId, format, documents, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Writes one cursor batch of archived requests, skipping those still in the live collection: copies left
+     * behind by an interrupted archive batch, already written from the live cursor. One _id lookup per batch
+     * keeps memory flat; a request archived while the export runs may still appear twice.
+     */
+    private int produceArchived(RowProducer producer, List<FundingRequest> batch, RowWriter rows) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Query stillLive = Query.query(Criteria.where("_id").in(batch.stream().map(FundingRequest::getId).toList()));
+        stillLive.fields().include("_id");
+        Set<String> liveIds = readTemplate.find(stillLive, FundingRequest.class).stream()
+                .map(FundingRequest::getId)
+                .collect(Collectors.toSet());
+        int written = 0;
+        for (FundingRequest request : batch) {
+            if (!liveIds.contains(request.getId())) {
+                produce(producer, request, rows);
+                written++;
+            }
+        }
+        rows.flush();
+        return written;
+    }
+
+    private static void produce(RowProducer producer, FundingRequest request, RowWriter rows) throws IOException {
+        if (request.getInvestorAmounts() != null && !request.getInvestorAmounts().isEmpty()) {
+            producer.produce(request, rows);
+        }
+    }
+
+    private static Query reportQuery(String funderId) {
+        Query query = Query.query(Criteria.where("funderId").is(funderId)).cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().exclude("description");
+        return query;
+    }
+
+    private abstract static class RowWriter implements AutoCloseable {
+        protected final Writer writer;
+        protected final String[] columns;
+
+        RowWriter(Writer writer, String[] columns) {
+            this.writer = writer;
+            this.columns = columns;
+        }
+
+        abstract void row(Object... values) throws IOException;
+
+        // Pushes buffered rows to the client; called at cursor batch boundaries, not per row
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+        CsvRowWriter(Writer writer, String[] columns) throws IOException {
+            super(writer, columns);
+            row((Object[]) columns);
+        }
+
+        @Override
+        void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(values[i]);
+            }
+            writer.write('\n');
+        }
+
+        private void writeField(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class NdjsonRowWriter extends RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer, String[] columns, ObjectMapper objectMapper) throws IOException {
+            super(writer, columns);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setCodec(objectMapper);
+            // Generator flushes only drain its buffer into the writer; the writer is flushed per batch
+            this.generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        void row(Object... values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns[i]);
+                generator.writeObject(values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+            super.flush();
+        }
+    }
+}
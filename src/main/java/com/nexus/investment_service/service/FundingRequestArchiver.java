@@ -0,0 +1,107 @@
+package com.nexus.investment_service.service;
+
+import com.nexus.investment_service.model.ArchivedFundingRequest;
+import com.nexus.investment_service.model.FundingRequest;
+import com.nexus.investment_service.repository.ArchivedFundingRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.nexus.investment_service.utils.Constants.STATUS_CLOSED;
+import static com.nexus.investment_service.utils.Constants.STATUS_FUNDED;
+
+/**
+ * Moves settled funding requests out of {@code funding_requests} into the archive collection in batches,
+ * so the live collection and its indexes only hold requests that can still change.
+ * Each batch is written to the archive before it is deleted from the live collection; a crash in between
+ * leaves a duplicate, which lookups tolerate because they read the live collection first. The archive write is
+ * an upsert and the delete only removes requests that are still settled, so a batch repeated by a node that
+ * has just lost its lease changes nothing.
+ * Runs as a sharded {@link ClusterJob}, so each replica archives only the shards it holds.
+ */
+@Component
+public class FundingRequestArchiver implements ClusterJob {
+
+    private static final Logger log = LoggerFactory.getLogger(FundingRequestArchiver.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ArchivedFundingRequestRepository archivedFundingRequestRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int shardCount;
+    private final Duration interval;
+
+    public FundingRequestArchiver(MongoTemplate mongoTemplate,
+                                  ArchivedFundingRequestRepository archivedFundingRequestRepository,
+                                  @Value("${investment.archive.enabled:false}") boolean enabled,
+                                  @Value("${investment.archive.batch-size:500}") int batchSize,
+                                  @Value("${investment.archive.max-batches-per-run:20}") int maxBatchesPerRun,
+                                  @Value("${investment.archive.shards:8}") int shardCount,
+                                  @Value("${investment.archive.interval-ms:300000}") long intervalMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.archivedFundingRequestRepository = archivedFundingRequestRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.shardCount = shardCount;
+        this.interval = Duration.ofMillis(intervalMillis);
+    }
+
+    @Override
+    public String name() { return "archive-settled"; }
+
+    @Override
+    public boolean enabled() { return enabled; }
+
+    @Override
+    public int shardCount() { return shardCount; }
+
+    @Override
+    public Duration interval() { return interval; }
+
+    @Override
+    public long runShard(JobShard shard) {
+        long archived = 0;
+        Criteria inShard = shard.idCriteria(mongoTemplate, FundingRequest.class);
+        for (int i = 0; i < maxBatchesPerRun && shard.confirmLease(); i++) {
+            int moved = archiveBatch(shard, inShard);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived settled funding requests shard={} count={}", shard.getShard(), archived);
+        }
+        return archived;
+    }
+
+    private int archiveBatch(JobShard shard, Criteria inShard) {
+        Query query = Query.query(new Criteria().andOperator(inShard, settled())).limit(batchSize);
+        List<FundingRequest> batch = mongoTemplate.find(query, FundingRequest.class);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        archivedFundingRequestRepository.saveAll(batch.stream().map(ArchivedFundingRequest::from).toList());
+        List<String> ids = batch.stream().map(FundingRequest::getId).toList();
+        mongoTemplate.remove(Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), settled())),
+                FundingRequest.class);
+        log.debug("Archived batch shard={} size={}", shard.getShard(), batch.size());
+        return batch.size();
+    }
+
+    // Settled requests: CLOSED, or FUNDED with returns paid out
+    private static Criteria settled() {
+        return new Criteria().orOperator(
+                Criteria.where("status").is(STATUS_CLOSED),
+                Criteria.where("status").is(STATUS_FUNDED).and("returnDistributed").is(true));
+    }
+}
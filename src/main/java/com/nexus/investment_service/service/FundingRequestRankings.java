@@ -0,0 +1,172 @@
+package com.nexus.investment_service.service;
+
+import com.nexus.investment_service.model.FundingRequest;
+import com.nexus.investment_service.repository.FundingRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.nexus.investment_service.utils.Constants.STATUS_OPEN;
+
+/**
+ * In-memory rankings of OPEN funding requests by deadline ("closing soon") and by remaining amount
+ * ("almost funded"), kept in concurrent skip lists so a top-N read walks N entries instead of the collection.
+ * Only a slim view of each request is kept (id, title, amounts, deadline, status), never its investors or
+ * description, and the resync loads just those fields.
+ * <p>
+ * {@link FundingRequestService} pushes every saved request through {@link #update(FundingRequest)}. The index
+ * is rebuilt from Mongo at startup and resynchronised periodically to pick up writes made by other replicas.
+ * Every entry remembers the update sequence it was written at, and a resync leaves alone entries updated
+ * locally after its snapshot was read, so it never rolls back a newer save.
+ */
+@Component
+public class FundingRequestRankings {
+
+    private static final Logger log = LoggerFactory.getLogger(FundingRequestRankings.class);
+
+    private record RankKey(double score, String id) {}
+
+    // Keys are null for a request that left OPEN (kept until the next resync so a stale snapshot cannot revive it)
+    private record Ranked(RankKey byDeadline, RankKey byRemaining, long sequence) {}
+
+    private static final Comparator<RankKey> ORDER = Comparator.comparingDouble(RankKey::score).thenComparing(RankKey::id);
+
+    private final ConcurrentSkipListMap<RankKey, FundingRequest> byDeadline = new ConcurrentSkipListMap<>(ORDER);
+    private final ConcurrentSkipListMap<RankKey, FundingRequest> byRemaining = new ConcurrentSkipListMap<>(ORDER);
+    private final ConcurrentHashMap<String, Ranked> positions = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final FundingRequestRepository fundingRequestRepository;
+    private final boolean refreshEnabled;
+
+    public FundingRequestRankings(FundingRequestRepository fundingRequestRepository,
+                                  @Value("${investment.rankings.refresh-enabled:true}") boolean refreshEnabled) {
+        this.fundingRequestRepository = fundingRequestRepository;
+        this.refreshEnabled = refreshEnabled;
+    }
+
+    /**
+     * Re-positions the request in both rankings, or drops it once it is no longer OPEN.
+     */
+    public void update(FundingRequest request) {
+        if (request == null || request.getId() == null) {
+            return;
+        }
+        long updateSequence = sequence.incrementAndGet();
+        positions.compute(request.getId(), (id, previous) -> reposition(request, previous, updateSequence));
+    }
+
+    private Ranked reposition(FundingRequest request, Ranked previous, long updateSequence) {
+        String id = request.getId();
+        unlink(previous);
+        if (!STATUS_OPEN.equals(request.getStatus()) || request.getDeadline() == null) {
+            // Without resyncs nothing can revive the entry, so there is nothing to remember
+            return refreshEnabled ? new Ranked(null, null, updateSequence) : null;
+        }
+        Ranked ranked = new Ranked(
+                new RankKey(request.getDeadline().toEpochSecond(ZoneOffset.UTC), id),
+                new RankKey(request.getRequiredAmount() - request.getCurrentFunded(), id),
+                updateSequence);
+        FundingRequest view = rankingView(request);
+        byDeadline.put(ranked.byDeadline(), view);
+        byRemaining.put(ranked.byRemaining(), view);
+        return ranked;
+    }
+
+    private static FundingRequest rankingView(FundingRequest request) {
+        FundingRequest view = new FundingRequest();
+        view.setId(request.getId());
+        view.setTitle(request.getTitle());
+        view.setRequiredAmount(request.getRequiredAmount());
+        view.setCurrentFunded(request.getCurrentFunded());
+        view.setDeadline(request.getDeadline());
+        view.setStatus(request.getStatus());
+        return view;
+    }
+
+    private void unlink(Ranked ranked) {
+        if (ranked != null && ranked.byDeadline() != null) {
+            byDeadline.remove(ranked.byDeadline());
+            byRemaining.remove(ranked.byRemaining());
+        }
+    }
+
+    // OPEN requests with the nearest deadline that has not passed yet
+    public List<FundingRequest> closingSoon(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        RankKey from = new RankKey(now.toEpochSecond(ZoneOffset.UTC), "");
+        List<FundingRequest> top = new ArrayList<>(limit);
+        for (FundingRequest request : byDeadline.tailMap(from).values()) {
+            if (top.size() >= limit) {
+                break;
+            }
+            top.add(request);
+        }
+        return top;
+    }
+
+    // OPEN requests with the smallest amount still missing, skipping passed deadlines like closingSoon
+    public List<FundingRequest> almostFunded(int limit) {
+        long now = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        return byRemaining.values().stream()
+                .filter(request -> request.getDeadline().toEpochSecond(ZoneOffset.UTC) >= now)
+                .limit(limit)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (refreshEnabled) {
+            refresh();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${investment.rankings.refresh-interval-ms:60000}",
+            fixedDelayString = "${investment.rankings.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        if (refreshEnabled) {
+            refresh();
+        }
+    }
+
+    void refresh() {
+        try {
+            // Entries updated after this point are newer than the snapshot and win over it
+            long snapshotSequence = sequence.get();
+            List<FundingRequest> open = fundingRequestRepository.findRankingViewByStatus(STATUS_OPEN);
+            Set<String> openIds = open.stream().map(FundingRequest::getId).collect(Collectors.toSet());
+            open.forEach(request -> positions.compute(request.getId(), (id, previous) ->
+                    previous != null && previous.sequence() > snapshotSequence
+                            ? previous
+                            : reposition(request, previous, snapshotSequence)));
+            positions.keySet().stream()
+                    .filter(id -> !openIds.contains(id))
+                    .toList()
+                    .forEach(id -> positions.computeIfPresent(id, (key, previous) -> {
+                        if (previous.sequence() > snapshotSequence) {
+                            return previous;
+                        }
+                        unlink(previous);
+                        return null;
+                    }));
+            log.debug("Rankings refreshed openRequests={}", open.size());
+        } catch (RuntimeException e) {
+            log.warn("Rankings refresh failed: {}", e.getMessage());
+        }
+    }
+}
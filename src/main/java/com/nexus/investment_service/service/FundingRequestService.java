@@ -4,21 +4,33 @@ import com.nexus.investment_service.dto.FundingRequestCreationDTO;
 import com.nexus.investment_service.dto.FundingRequestUpdateDTO;
 import com.nexus.investment_service.dto.FundingInvestmentDTO;
 import com.nexus.investment_service.dto.UserUpdateRequestDTO;
+import com.nexus.investment_service.model.ArchivedFundingRequest;
 import com.nexus.investment_service.model.FundingRequest;
+import com.nexus.investment_service.repository.ArchivedFundingRequestRepository;
 import com.nexus.investment_service.repository.FundingRequestRepository;
+import com.nexus.investment_service.repository.FundingRequestRouting;
+import com.nexus.investment_service.utils.Payouts;
+import com.nexus.investment_service.utils.PhaseTimings;
 import com.nexus.investment_service.utils.Validation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import static com.nexus.investment_service.utils.Constants.*;
 
@@ -28,10 +40,28 @@ public class FundingRequestService {
     private static final Logger log = LoggerFactory.getLogger(FundingRequestService.class);
 
     private final FundingRequestRepository fundingRequestRepository;
+    private final ArchivedFundingRequestRepository archivedFundingRequestRepository;
+    private final FundingRequestRouting fundingRequestRouting;
+    private final FundingRequestRankings fundingRequestRankings;
+    private final FundingResponseCache fundingResponseCache;
     private final WebClient webClient; // injected bean configured in WebClientConfig
+    private final InvestmentSequencer investmentSequencer = new InvestmentSequencer(SEQUENCER_STRIPES, SEQUENCER_MAX_BATCH_SIZE);
+    private final InvestmentSequencer.BatchHandler reserveHandler = this::reserveInvestmentBatch;
+    private final InvestmentSequencer.BatchHandler commitHandler = this::commitInvestmentBatch;
+    // Capacity held per request by investments between reservation and commit; checked and added to under the stripe lock
+    private final ConcurrentHashMap<String, Double> reservedAmounts = new ConcurrentHashMap<>();
 
-    public FundingRequestService(FundingRequestRepository fundingRequestRepository, WebClient webClient) {
+    public FundingRequestService(FundingRequestRepository fundingRequestRepository,
+                                 ArchivedFundingRequestRepository archivedFundingRequestRepository,
+                                 FundingRequestRouting fundingRequestRouting,
+                                 FundingRequestRankings fundingRequestRankings,
+                                 FundingResponseCache fundingResponseCache,
+                                 WebClient webClient) {
         this.fundingRequestRepository = fundingRequestRepository;
+        this.archivedFundingRequestRepository = archivedFundingRequestRepository;
+        this.fundingRequestRouting = fundingRequestRouting;
+        this.fundingRequestRankings = fundingRequestRankings;
+        this.fundingResponseCache = fundingResponseCache;
         this.webClient = webClient;
     }
 
@@ -49,87 +79,252 @@ public class FundingRequestService {
         request.setCreatedAt(LocalDateTime.now());
         request.setCurrentFunded(0.0);
         request.setStatus(STATUS_OPEN);
-        FundingRequest saved = fundingRequestRepository.save(request);
+        FundingRequest saved = persist(request, Set.of(funderId));
         log.debug("Funding request created id={}", saved.getId());
         return saved;
     }
 
+    // Primary read, used by the read-modify-write paths
     public FundingRequest getFundingRequestById(String id) {
         log.debug("Fetching funding request id={}", id);
-        return fundingRequestRepository.findById(id)
+        return PhaseTimings.time(PHASE_MONGO_READ, id, () -> orArchived(id, fundingRequestRepository.findById(id)));
+    }
+
+    // Read-only lookup, routed to a secondary (causally after the reader's own last write)
+    public FundingRequest getFundingRequestById(String id, String readerId) {
+        log.debug("Fetching funding request id={} readerId={}", id, readerId);
+        return PhaseTimings.time(PHASE_MONGO_READ, id, () -> orArchived(id, fundingRequestRouting.findById(id, readerId)));
+    }
+
+    // Serialized body for GET /{requestId}; a reader who just wrote bypasses the shared cache to keep read-your-writes.
+    // Misses are filled from the primary, so a cached body is never older than the last local save.
+    public FundingResponseCache.Body getFundingRequestBody(String id, String readerId) {
+        if (fundingRequestRouting.hasRecentWrite(readerId)) {
+            return fundingResponseCache.render(getFundingRequestById(id, readerId));
+        }
+        return fundingResponseCache.getById(id, () -> getFundingRequestById(id));
+    }
+
+    private FundingRequest orArchived(String id, Optional<FundingRequest> live) {
+        return live
+                // Settled requests may have been moved to the archive; they are read-only from here on
+                .or(() -> archivedFundingRequestRepository.findById(id).map(ArchivedFundingRequest::toFundingRequest))
                 .orElseThrow(() -> {
                     log.warn("Funding request not found id={}", id);
                     return new ResponseStatusException(HttpStatus.NOT_FOUND, "Funding Request not found with ID: " + id);
                 });
     }
 
-    public List<FundingRequest> getAllFundingRequests() {
+    public List<FundingRequest> getClosingSoon(int limit) {
+        log.debug("Fetching closing soon ranking limit={}", limit);
+        return fundingRequestRankings.closingSoon(limit);
+    }
+
+    public List<FundingRequest> getAlmostFunded(int limit) {
+        log.debug("Fetching almost funded ranking limit={}", limit);
+        return fundingRequestRankings.almostFunded(limit);
+    }
+
+    public List<FundingRequest> getAllFundingRequests(String readerId) {
         log.debug("Fetching all funding requests");
-        return fundingRequestRepository.findAll();
+        return PhaseTimings.time(PHASE_MONGO_READ, null, () -> fundingRequestRouting.findAll(readerId));
+    }
+
+    public FundingResponseCache.Body getAllFundingRequestsBody(String readerId) {
+        if (fundingRequestRouting.hasRecentWrite(readerId)) {
+            return fundingResponseCache.render(getAllFundingRequests(readerId));
+        }
+        return fundingResponseCache.getAll(() -> getAllFundingRequests(null));
     }
 
     public FundingRequest updateFundingRequest(String requestId, String funderId, FundingRequestUpdateDTO dto) {
         log.info("Updating funding request id={} by funderId={}", requestId, funderId);
         FundingRequest existingRequest = getFundingRequestById(requestId);
-        Validation.validateOwnership(existingRequest, funderId);
-        Validation.validateRequestOpen(existingRequest, "update");
+        PhaseTimings.time(PHASE_VALIDATION, requestId, () -> {
+            Validation.validateOwnership(existingRequest, funderId);
+            Validation.validateRequestOpen(existingRequest, "update");
+        });
 
+        // Targeted $set of the edited fields only: a full-document save would write back the money fields read
+        // above and drop an investment committed in between
+        Update update = new Update();
         if (dto.getTitle() != null && !dto.getTitle().isEmpty()) {
             log.debug("Updating title for funding request id={}", requestId);
-            existingRequest.setTitle(dto.getTitle());
+            update.set("title", dto.getTitle());
         }
         if (dto.getDeadline() != null) {
             log.debug("Updating deadline for funding request id={}", requestId);
-            existingRequest.setDeadline(dto.getDeadline());
+            update.set("deadline", dto.getDeadline());
         }
         if (dto.getDescription() != null && !dto.getDescription().isEmpty()) {
             log.debug("Updating description for funding request id={}", requestId);
-            existingRequest.setDescription(dto.getDescription());
+            update.set("description", dto.getDescription());
         }
         if (dto.getCommittedReturnAmount() != null) {
             log.debug("Updating committedReturnAmount for funding request id={}", requestId);
-            existingRequest.setCommittedReturnAmount(dto.getCommittedReturnAmount());
+            update.set("committedReturnAmount", dto.getCommittedReturnAmount());
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            return existingRequest;
         }
 
-        FundingRequest saved = fundingRequestRepository.save(existingRequest);
+        // Only title/description edits are cosmetic; deadline and committed return change what investors signed up for
+        boolean cosmeticOnly = dto.getDeadline() == null && dto.getCommittedReturnAmount() == null;
+        FundingRequest saved = persistEdit(requestId, update, funderId, cosmeticOnly);
         log.info("Funding request updated id={}", saved.getId());
         return saved;
     }
 
+    /**
+     * Investments go through a per-request sequencer in two short steps, with the investor's wallet debit
+     * in between and outside any lock:
+     * <ol>
+     *   <li>reserve: capacity is checked against the saved state plus what is already reserved, and held</li>
+     *   <li>commit: the debited amounts are applied and saved, one read and one save per micro-batch</li>
+     * </ol>
+     * Investments into a hot request therefore debit wallets concurrently, and the FUNDED transition is still
+     * decided once, in commit order.
+     */
     public FundingRequest investInFundingRequest(String requestId, FundingInvestmentDTO investmentDTO) {
         log.info("Investment attempt requestId={} investorId={} walletAdjustment={}", requestId, investmentDTO.getInvestorId(), investmentDTO.getWalletAdjustment());
+        investmentSequencer.submit(requestId, investmentDTO, reserveHandler);
+
+        double walletAdjustment = investmentDTO.getWalletAdjustment(); // negative value for deduction
+        try {
+            updateWallet(investmentDTO.getInvestorId(), walletUpdate(requestId, walletAdjustment), true);
+        } catch (RuntimeException e) {
+            releaseReservation(requestId, Math.abs(walletAdjustment));
+            throw e;
+        }
+        return investmentSequencer.submit(requestId, investmentDTO, commitHandler);
+    }
+
+    // Under the stripe lock: no wallet calls, only the capacity check against a single primary read
+    private void reserveInvestmentBatch(String requestId, List<InvestmentSequencer.Ticket> batch) {
         FundingRequest request = getFundingRequestById(requestId);
-        Validation.validateRequestOpen(request, "invest in");
+        for (InvestmentSequencer.Ticket ticket : batch) {
+            try {
+                double walletAdjustment = ticket.getInvestment().getWalletAdjustment();
+                double reserved = reservedAmounts.getOrDefault(requestId, 0.0);
+                PhaseTimings.time(PHASE_VALIDATION, requestId, () -> {
+                    Validation.validateRequestOpen(request, "invest in");
+                    Validation.validateInvestment(request, walletAdjustment, reserved);
+                });
+                reservedAmounts.merge(requestId, Math.abs(walletAdjustment), Double::sum);
+                ticket.complete(request);
+            } catch (RuntimeException e) {
+                ticket.fail(e);
+            }
+        }
+    }
 
+    // Every ticket here has been debited: each one is either saved or refunded, never dropped
+    private void commitInvestmentBatch(String requestId, List<InvestmentSequencer.Ticket> batch) {
+        try {
+            FundingRequest request;
+            try {
+                request = getFundingRequestById(requestId);
+            } catch (RuntimeException e) {
+                batch.forEach(ticket -> refundAndFail(requestId, ticket, e));
+                return;
+            }
+            List<InvestmentSequencer.Ticket> accepted = new ArrayList<>(batch.size());
+            boolean funderCredited = false;
+            for (InvestmentSequencer.Ticket ticket : batch) {
+                try {
+                    funderCredited |= applyInvestment(request, ticket.getInvestment());
+                    accepted.add(ticket);
+                } catch (RuntimeException e) {
+                    refundAndFail(requestId, ticket, e);
+                }
+            }
+            if (accepted.isEmpty()) {
+                return;
+            }
+            Set<String> investorIds = accepted.stream().map(ticket -> ticket.getInvestment().getInvestorId()).collect(Collectors.toSet());
+            FundingRequest saved;
+            try {
+                saved = persistIfOpen(request, investorIds);
+            } catch (RuntimeException e) {
+                log.error("Saving investment batch failed requestId={} investments={}, reversing wallet updates", requestId, accepted.size(), e);
+                if (funderCredited) {
+                    reverseWalletUpdate(request.getFunderId(), walletUpdate(requestId, -request.getCurrentFunded()));
+                }
+                accepted.forEach(ticket -> refundAndFail(requestId, ticket, e));
+                return;
+            }
+            log.info("Recorded investment batch requestId={} investments={} newCurrentFunded={}", requestId, accepted.size(), saved.getCurrentFunded());
+            accepted.forEach(ticket -> ticket.complete(saved));
+        } finally {
+            // Saved amounts are now in currentFunded, refunded ones are free again
+            batch.forEach(ticket -> releaseReservation(requestId, Math.abs(ticket.getInvestment().getWalletAdjustment())));
+        }
+    }
+
+    /**
+     * Applies one already-debited investment to the request. The request is left untouched if it throws.
+     *
+     * @return whether this investment funded the request and the funder was credited
+     */
+    private boolean applyInvestment(FundingRequest request, FundingInvestmentDTO investmentDTO) {
+        String requestId = request.getId();
         double walletAdjustment = investmentDTO.getWalletAdjustment();
-        Validation.validateInvestment(request, walletAdjustment);
+        // Re-checked against the saved state, which another replica may have moved since the reservation
+        PhaseTimings.time(PHASE_VALIDATION, requestId, () -> {
+            Validation.validateRequestOpen(request, "invest in");
+            Validation.validateInvestment(request, walletAdjustment);
+        });
 
         String investorId = investmentDTO.getInvestorId();
-        UserUpdateRequestDTO userUpdate = new UserUpdateRequestDTO();
-        userUpdate.setWalletAdjustment(BigDecimal.valueOf(walletAdjustment)); // negative value for deduction
-        userUpdate.setFundingRequestIds(List.of(requestId));
-
-        updateWallet(investorId, userUpdate);
-
         double investedAmount = Math.abs(walletAdjustment); // walletAdjustment is negative
         double newTotalFunded = request.getCurrentFunded() + investedAmount;
-        boolean willBecomeFunded = newTotalFunded >= request.getRequiredAmount() && !STATUS_FUNDED.equals(request.getStatus());
+        boolean funds = newTotalFunded >= request.getRequiredAmount();
+        if (funds) {
+            // Credit funder's wallet with the raised principal amount (total funds raised) before touching the request
+            String funderId = request.getFunderId();
+            log.info("Funding request fully funded id={} totalRaised={}", requestId, newTotalFunded);
+            log.info("Crediting funderId={} raisedPrincipal={} for requestId={}", funderId, newTotalFunded, requestId);
+            updateWallet(funderId, walletUpdate(requestId, newTotalFunded), false);
+            request.setStatus(STATUS_FUNDED);
+        }
         request.setCurrentFunded(newTotalFunded);
         request.updateInvestorAmount(investorId, investedAmount);
-        if (willBecomeFunded) {
-            request.setStatus(STATUS_FUNDED);
-            log.info("Funding request fully funded id={} totalRaised={}", requestId, request.getCurrentFunded());
-            // Credit funder's wallet with the raised principal amount (total funds raised)
-            String funderId = request.getFunderId();
-            UserUpdateRequestDTO funderCredit = new UserUpdateRequestDTO();
-            funderCredit.setWalletAdjustment(BigDecimal.valueOf(request.getCurrentFunded()));
-            funderCredit.setFundingRequestIds(List.of(requestId));
-            log.info("Crediting funderId={} raisedPrincipal={} for requestId={}", funderId, request.getCurrentFunded(), requestId);
-            updateWallet(funderId, funderCredit);
-        }
-        FundingRequest saved = fundingRequestRepository.save(request);
-        log.info("Recorded investment requestId={} newCurrentFunded={}", requestId, saved.getCurrentFunded());
-        return saved;
+        log.debug("Applied investment requestId={} investorId={} currentFunded={}", requestId, investorId, request.getCurrentFunded());
+        return funds;
+    }
+
+    private void refundAndFail(String requestId, InvestmentSequencer.Ticket ticket, RuntimeException cause) {
+        FundingInvestmentDTO investment = ticket.getInvestment();
+        log.warn("Investment not recorded requestId={} investorId={}, refunding walletAdjustment={}", requestId, investment.getInvestorId(), investment.getWalletAdjustment());
+        reverseWalletUpdate(investment.getInvestorId(), walletUpdate(requestId, -investment.getWalletAdjustment()));
+        ticket.fail(cause);
+    }
+
+    // Compensating wallet update; a failure here needs manual reconciliation, so it is logged rather than thrown
+    private void reverseWalletUpdate(String userId, UserUpdateRequestDTO update) {
+        try {
+            updateWallet(userId, update, false);
+        } catch (RuntimeException e) {
+            log.error("Wallet reversal failed, manual reconciliation needed userId={} walletAdjustment={} requestIds={}",
+                    userId, update.getWalletAdjustment(), update.getFundingRequestIds(), e);
+        }
+    }
+
+    // Visible for tests: investments waiting on the sequencer for requestId
+    int queuedInvestments(String requestId) {
+        return investmentSequencer.queued(requestId);
+    }
+
+    private void releaseReservation(String requestId, double amount) {
+        // Within rounding of zero means nothing is reserved any more
+        reservedAmounts.computeIfPresent(requestId, (id, reserved) -> reserved - amount > 1e-9 ? reserved - amount : null);
+    }
+
+    private static UserUpdateRequestDTO walletUpdate(String requestId, double walletAdjustment) {
+        UserUpdateRequestDTO update = new UserUpdateRequestDTO();
+        update.setWalletAdjustment(BigDecimal.valueOf(walletAdjustment));
+        update.setFundingRequestIds(List.of(requestId));
+        return update;
     }
 
     /**
@@ -157,35 +352,76 @@ public class FundingRequestService {
         funderDebit.setWalletAdjustment(BigDecimal.valueOf(-totalPayout)); // negative to deduct
         funderDebit.setFundingRequestIds(List.of(requestId));
         log.info("Debiting funderId={} totalPayout={} for distribution requestId={}", funderId, totalPayout, requestId);
-        updateWallet(funderId, funderDebit);
+        updateWallet(funderId, funderDebit, true);
 
         // Credit each investor with principal + pro-rata return
         request.getInvestorAmounts().forEach((investorId, investedPrincipal) -> {
-            double ratio = investedPrincipal / totalPrincipal; // sum ratios ~ 1.0
-            double returnShare = ratio * committedReturn;
+            double returnShare = Payouts.returnShare(investedPrincipal, totalPrincipal, committedReturn);
             double totalCredit = investedPrincipal + returnShare;
             UserUpdateRequestDTO creditPayload = new UserUpdateRequestDTO();
             creditPayload.setWalletAdjustment(BigDecimal.valueOf(totalCredit));
             creditPayload.setFundingRequestIds(List.of(requestId));
             log.info("Crediting investorId={} principal={} returnShare={} totalCredit={}", investorId, investedPrincipal, returnShare, totalCredit);
-            updateWallet(investorId, creditPayload);
+            updateWallet(investorId, creditPayload, false);
         });
 
         request.setReturnDistributed(true);
-        FundingRequest saved = fundingRequestRepository.save(request);
+        FundingRequest saved = persist(request, Set.of(funderId));
         log.info("Return distribution complete requestId={}", requestId);
         return saved;
     }
 
-    private void updateWallet(String investorId, UserUpdateRequestDTO userUpdate) {
+    // Every write goes through persist/persistEdit so the in-memory rankings and cached bodies follow the saved state
+    private FundingRequest persist(FundingRequest request, Set<String> actorIds) {
+        FundingRequest saved = PhaseTimings.time(PHASE_MONGO_SAVE, request.getId(), () -> fundingRequestRouting.saveCritical(request, actorIds));
+        fundingRequestRankings.update(saved);
+        fundingResponseCache.invalidate(saved.getId());
+        return saved;
+    }
+
+    // Investment commits must not write OPEN back over a request closed or archived since it was read
+    private FundingRequest persistIfOpen(FundingRequest request, Set<String> actorIds) {
+        FundingRequest saved = PhaseTimings.time(PHASE_MONGO_SAVE, request.getId(), () -> fundingRequestRouting.saveCriticalIfOpen(request, actorIds));
+        if (saved == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Funding request " + request.getId() + " is no longer OPEN.");
+        }
+        fundingRequestRankings.update(saved);
+        fundingResponseCache.invalidate(saved.getId());
+        return saved;
+    }
+
+    private FundingRequest persistEdit(String requestId, Update update, String funderId, boolean cosmeticOnly) {
+        FundingRequest saved = PhaseTimings.time(PHASE_MONGO_SAVE, requestId, () -> cosmeticOnly
+                ? fundingRequestRouting.updateCosmetic(requestId, update, funderId)
+                : fundingRequestRouting.updateCritical(requestId, update, Set.of(funderId)));
+        if (saved == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot update a funding request that is not OPEN.");
+        }
+        fundingRequestRankings.update(saved);
+        fundingResponseCache.invalidate(saved.getId());
+        return saved;
+    }
+
+    /**
+     * @param startsOperation true for the debit that opens an investment or a distribution; only that call may be
+     *                        shed by the user service bulkhead, so credits and reversals of an operation already
+     *                        under way always go through
+     */
+    private void updateWallet(String investorId, UserUpdateRequestDTO userUpdate, boolean startsOperation) {
+        String phase = userUpdate.getWalletAdjustment().signum() < 0 ? PHASE_WALLET_DEBIT : PHASE_WALLET_CREDIT;
+        String requestId = userUpdate.getFundingRequestIds() == null ? null : userUpdate.getFundingRequestIds().get(0);
         try {
-            webClient.put()
+            PhaseTimings.time(phase, requestId, () -> webClient.put()
                     .uri("/" + investorId)
                     .bodyValue(userUpdate)
                     .retrieve()
                     .toBodilessEntity()
-                    .block();
+                    .contextWrite(context -> context.put(USER_CALL_BULKHEAD_GATED, startsOperation))
+                    .block());
             log.info("Wallet update successful investorId={}", investorId);
+        } catch (WebClientRequestException e) {
+            log.error("User service unreachable investorId={} error={}", investorId, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "User service unavailable.");
         } catch (WebClientResponseException e) {
             if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
                 log.warn("Wallet update rejected investorId={} statusCode={}", investorId, e.getStatusCode());
@@ -198,7 +434,14 @@ public class FundingRequestService {
 
     public List<FundingRequest> getFundingRequestsByFunderId(String funderId) {
         log.info("Fetching funding requests by funderId={}", funderId);
-        return fundingRequestRepository.findByFunderId(funderId);
+        List<FundingRequest> requests = PhaseTimings.time(PHASE_MONGO_READ, null,
+                () -> new ArrayList<>(fundingRequestRouting.findByFunderId(funderId)));
+        Set<String> liveIds = requests.stream().map(FundingRequest::getId).collect(Collectors.toSet());
+        PhaseTimings.time(PHASE_MONGO_READ, null, () -> archivedFundingRequestRepository.findByFunderId(funderId)).stream()
+                .filter(archived -> !liveIds.contains(archived.getId())) // skip copies left by an interrupted archive batch
+                .map(ArchivedFundingRequest::toFundingRequest)
+                .forEach(requests::add);
+        return requests;
     }
 }
 
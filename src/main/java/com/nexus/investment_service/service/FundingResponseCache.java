@@ -0,0 +1,211 @@
+package com.nexus.investment_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexus.investment_service.model.FundingRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies for the read endpoints, so unchanged funding requests are not re-encoded by Jackson
+ * on every GET.
+ * <p>
+ * Single-request entries are tagged with a version: a generation counter per id stripe that
+ * {@link #invalidate(String)} bumps on every save. The version is read before the document is loaded and
+ * checked again on lookup. Callers load from the primary, so a body rendered before a local save is never
+ * served after it. Saves made by other replicas are not seen here; the TTL bounds how long a replica can
+ * serve a body they made stale.
+ * <p>
+ * The full list is not invalidated by saves, since a busy campaign would keep it permanently cold. It is
+ * loaded from secondaries by one caller at a time (concurrent misses wait for that load) and ages out on the
+ * TTL, so it is at most max-staleness plus the TTL behind, as {@code GET /} already accepts.
+ */
+@Component
+public class FundingResponseCache {
+
+    private static final int GENERATION_STRIPES = 4096;
+
+    /**
+     * A serialized response body and, for bodies worth compressing, its gzip variant (built on first use).
+     */
+    public static final class Body {
+        private final byte[] json;
+        private final boolean compressible;
+        private volatile byte[] gzip;
+
+        Body(byte[] json, boolean compressible) {
+            this.json = json;
+            this.compressible = compressible;
+        }
+
+        public byte[] json() { return json; }
+
+        public boolean isCompressible() { return compressible; }
+
+        // Racing callers may both compress; the results are identical, so the last write wins harmlessly
+        public byte[] gzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                compressed = compress(json);
+                gzip = compressed;
+            }
+            return compressed;
+        }
+    }
+
+    private record Entry(long generation, long expiresAtNanos, Body body) {}
+
+    // The list body, or the load in flight for it; expiresAtNanos only counts once the load has completed
+    private record ListEntry(long expiresAtNanos, CompletableFuture<Body> body) {}
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final int gzipMinBytes;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final ConcurrentHashMap<String, Entry> byId = new ConcurrentHashMap<>();
+    private final AtomicReference<ListEntry> all = new AtomicReference<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FundingResponseCache(ObjectMapper objectMapper,
+                                @Value("${investment.response-cache.enabled:true}") boolean enabled,
+                                @Value("${investment.response-cache.ttl-ms:5000}") long ttlMs,
+                                @Value("${investment.response-cache.max-entries:10000}") int maxEntries,
+                                @Value("${investment.response-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxEntries = maxEntries;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    public Body getById(String id, Supplier<FundingRequest> loader) {
+        if (!enabled) {
+            return render(loader.get());
+        }
+        int slot = slot(id);
+        long generation = generations.get(slot);
+        Entry entry = byId.get(id);
+        if (isFresh(entry, generation)) {
+            hits.increment();
+            return entry.body();
+        }
+        misses.increment();
+        Body body = render(loader.get());
+        if (generations.get(slot) == generation) {
+            if (byId.size() >= maxEntries) {
+                evictExpired();
+            }
+            byId.put(id, new Entry(generation, System.nanoTime() + ttlNanos, body));
+        }
+        return body;
+    }
+
+    public Body getAll(Supplier<List<FundingRequest>> loader) {
+        if (!enabled) {
+            return render(loader.get());
+        }
+        while (true) {
+            ListEntry current = all.get();
+            if (current != null && (!current.body().isDone() || System.nanoTime() - current.expiresAtNanos() < 0)) {
+                hits.increment();
+                return await(current.body());
+            }
+            ListEntry loading = new ListEntry(0, new CompletableFuture<>());
+            if (all.compareAndSet(current, loading)) {
+                misses.increment();
+                return loadAll(loading, loader);
+            }
+            // Another caller started the load first; wait for theirs
+        }
+    }
+
+    private Body loadAll(ListEntry loading, Supplier<List<FundingRequest>> loader) {
+        Body body;
+        try {
+            body = render(loader.get());
+        } catch (RuntimeException e) {
+            all.compareAndSet(loading, null);
+            loading.body().completeExceptionally(e);
+            throw e;
+        }
+        loading.body().complete(body);
+        all.compareAndSet(loading, new ListEntry(System.nanoTime() + ttlNanos, loading.body()));
+        return body;
+    }
+
+    // Called after every save of the document; the generation bump alone makes older entries unservable
+    public void invalidate(String id) {
+        generations.incrementAndGet(slot(id));
+        byId.remove(id);
+    }
+
+    // Serializes without caching, for readers that must not be served a shared body
+    public Body render(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            return new Body(json, json.length >= gzipMinBytes);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long getHits() { return hits.sum(); }
+
+    long getMisses() { return misses.sum(); }
+
+    private boolean isFresh(Entry entry, long generation) {
+        return entry != null && entry.generation() == generation && System.nanoTime() - entry.expiresAtNanos() < 0;
+    }
+
+    private static Body await(CompletableFuture<Body> body) {
+        try {
+            return body.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        byId.values().removeIf(entry -> now - entry.expiresAtNanos() >= 0);
+        if (byId.size() >= maxEntries) {
+            // Every entry is still live: start over rather than grow past the bound
+            byId.clear();
+        }
+    }
+
+    private static int slot(String id) {
+        int h = id.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
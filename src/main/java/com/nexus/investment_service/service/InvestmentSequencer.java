@@ -0,0 +1,132 @@
+package com.nexus.investment_service.service;
+
+import com.nexus.investment_service.dto.FundingInvestmentDTO;
+import com.nexus.investment_service.model.FundingRequest;
+import com.nexus.investment_service.utils.PhaseTimings;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.nexus.investment_service.utils.Constants.PHASE_SEQUENCER;
+
+/**
+ * Single-writer sequencer for investments, striped by requestId.
+ * <p>
+ * Callers enqueue their investment on the stripe owning the requestId and then take the stripe lock.
+ * Whoever holds the lock drains everything queued so far, groups it by requestId and handler (arrival order
+ * is kept inside each group) and hands each group to its {@link BatchHandler} as one micro-batch. Callers
+ * whose investment was already handled by an earlier lock holder return without doing any work.
+ * <p>
+ * Handlers run under the stripe lock, so they should not make remote calls per ticket.
+ * <p>
+ * Only the wait for the stripe lock is timed as the {@code sequencer} phase; the batch work of whoever
+ * drains the stripe is recorded in the phases the handlers time themselves.
+ */
+class InvestmentSequencer {
+
+    /**
+     * Applies one micro-batch of investments for a single funding request. Implementations must complete
+     * every ticket, either with the saved request or with the exception explaining the rejection.
+     */
+    interface BatchHandler {
+        void apply(String requestId, List<Ticket> batch);
+    }
+
+    static final class Ticket {
+        private final String requestId;
+        private final FundingInvestmentDTO investment;
+        private final BatchHandler handler;
+        private final CompletableFuture<FundingRequest> result = new CompletableFuture<>();
+
+        private Ticket(String requestId, FundingInvestmentDTO investment, BatchHandler handler) {
+            this.requestId = requestId;
+            this.investment = investment;
+            this.handler = handler;
+        }
+
+        FundingInvestmentDTO getInvestment() { return investment; }
+
+        void complete(FundingRequest saved) { result.complete(saved); }
+
+        void fail(RuntimeException e) { result.completeExceptionally(e); }
+
+        boolean isDone() { return result.isDone(); }
+    }
+
+    private record BatchKey(String requestId, BatchHandler handler) {}
+
+    private static final class Stripe {
+        private final ConcurrentLinkedQueue<Ticket> queue = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock lock = new ReentrantLock(true);
+    }
+
+    private final Stripe[] stripes;
+    private final int maxBatchSize;
+
+    InvestmentSequencer(int stripeCount, int maxBatchSize) {
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    FundingRequest submit(String requestId, FundingInvestmentDTO investment, BatchHandler handler) {
+        Stripe stripe = stripes[Math.floorMod(requestId.hashCode(), stripes.length)];
+        Ticket ticket = new Ticket(requestId, investment, handler);
+        stripe.queue.add(ticket);
+
+        PhaseTimings.time(PHASE_SEQUENCER, requestId, () -> stripe.lock.lock());
+        try {
+            while (!ticket.isDone()) {
+                drain(stripe);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        return await(ticket);
+    }
+
+    // Tickets waiting on the stripe of requestId for that request
+    int queued(String requestId) {
+        Stripe stripe = stripes[Math.floorMod(requestId.hashCode(), stripes.length)];
+        return (int) stripe.queue.stream().filter(t -> t.requestId.equals(requestId)).count();
+    }
+
+    private void drain(Stripe stripe) {
+        Map<BatchKey, List<Ticket>> batches = new LinkedHashMap<>();
+        Ticket next;
+        int drained = 0;
+        while (drained < maxBatchSize && (next = stripe.queue.poll()) != null) {
+            batches.computeIfAbsent(new BatchKey(next.requestId, next.handler), k -> new ArrayList<>()).add(next);
+            drained++;
+        }
+        batches.forEach((key, batch) -> {
+            try {
+                key.handler().apply(key.requestId(), batch);
+            } catch (RuntimeException e) {
+                batch.forEach(t -> t.fail(e));
+            }
+            // Guard against a handler that forgot a ticket; otherwise its caller would spin forever.
+            batch.stream().filter(t -> !t.isDone())
+                    .forEach(t -> t.fail(new IllegalStateException("Investment was not processed by its batch.")));
+        });
+    }
+
+    private static FundingRequest await(Ticket ticket) {
+        try {
+            return ticket.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.nexus.investment_service.service;
+
+import com.nexus.investment_service.model.JobLease;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.OptionalLong;
+
+/**
+ * One leased shard handed to a {@link ClusterJob} run.
+ */
+public class JobShard {
+
+    private final JobLease lease;
+    private final int shardCount;
+    private final LeaseManager leaseManager;
+
+    JobShard(JobLease lease, int shardCount, LeaseManager leaseManager) {
+        this.lease = lease;
+        this.shardCount = shardCount;
+        this.leaseManager = leaseManager;
+    }
+
+    public int getShard() { return lease.getShard(); }
+
+    public int getShardCount() { return shardCount; }
+
+    public long getLeaseToken() { return lease.getLeaseToken(); }
+
+    // Re-reads the lease; false means another node has taken the shard over and this run must stop writing
+    public boolean confirmLease() {
+        return leaseManager.isCurrent(lease);
+    }
+
+    /**
+     * Restricts a query on the entity's collection to this shard's {@code _id} range, so it is answered from
+     * the {@code _id} index. The span between the oldest and newest ObjectId creation time is cut into
+     * shardCount equal ranges, with the first and last shard open-ended. Call it once per run: the bounds
+     * move as documents are created and archived, so a document near a bound may be seen by two runs or
+     * left for a later one.
+     */
+    public Criteria idCriteria(MongoOperations mongo, Class<?> entityClass) {
+        OptionalLong first = creationSecond(mongo, entityClass, Sort.Direction.ASC);
+        OptionalLong last = creationSecond(mongo, entityClass, Sort.Direction.DESC);
+        if (first.isEmpty() || last.isEmpty()) {
+            return new Criteria();
+        }
+        return idCriteria(getShard(), shardCount, first.getAsLong(), last.getAsLong());
+    }
+
+    static Criteria idCriteria(int shard, int shardCount, long firstSecond, long lastSecond) {
+        if (shardCount <= 1) {
+            return new Criteria();
+        }
+        long span = lastSecond - firstSecond + 1;
+        Criteria criteria = Criteria.where("_id");
+        if (shard > 0) {
+            criteria = criteria.gte(lowestId(firstSecond + span * shard / shardCount));
+        }
+        if (shard < shardCount - 1) {
+            criteria = criteria.lt(lowestId(firstSecond + span * (shard + 1) / shardCount));
+        }
+        return criteria;
+    }
+
+    // Creation time of the oldest or newest document; empty when the collection is empty or ids are not ObjectIds
+    private static OptionalLong creationSecond(MongoOperations mongo, Class<?> entityClass, Sort.Direction direction) {
+        Query query = new Query().with(Sort.by(direction, "_id")).limit(1);
+        query.fields().include("_id");
+        Document document = mongo.findOne(query, Document.class, mongo.getCollectionName(entityClass));
+        if (document != null && document.get("_id") instanceof ObjectId id) {
+            return OptionalLong.of(Integer.toUnsignedLong(id.getTimestamp()));
+        }
+        return OptionalLong.empty();
+    }
+
+    // Smallest ObjectId created in the given second
+    private static ObjectId lowestId(long epochSecond) {
+        return new ObjectId(String.format("%08x", epochSecond) + "0000000000000000");
+    }
+}
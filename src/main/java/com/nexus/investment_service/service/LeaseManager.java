@@ -0,0 +1,162 @@
+package com.nexus.investment_service.service;
+
+import com.nexus.investment_service.model.JobLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Mongo-backed shard leases. All transitions are single conditional findAndModify calls on the lease
+ * document, so two nodes can never both believe they acquired the same lease token.
+ */
+@Component
+public class LeaseManager {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaseManager.class);
+
+    static final String MEMBERS = "_members";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration leaseDuration;
+    private final String nodeId;
+
+    public LeaseManager(MongoTemplate mongoTemplate,
+                        @Value("${investment.jobs.lease-ms:30000}") long leaseMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getNodeId() { return nodeId; }
+
+    /**
+     * Acquires the shard if it is free, expired or already ours; a takeover or first acquisition bumps the lease token.
+     */
+    public Optional<JobLease> tryAcquire(String jobName, int shard) {
+        String id = JobLease.idOf(jobName, shard);
+        Instant now = Instant.now();
+
+        JobLease renewed = renew(id, null, now);
+        if (renewed != null) {
+            return Optional.of(renewed);
+        }
+
+        JobLease takenOver = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id).and("expiresAt").lt(now)),
+                new Update().set("owner", nodeId).set("acquiredAt", now).set("heartbeatAt", now)
+                        .set("expiresAt", now.plus(leaseDuration)).inc("leaseToken", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                JobLease.class);
+        if (takenOver != null) {
+            log.info("Lease taken over lease={} leaseToken={}", id, takenOver.getLeaseToken());
+            return Optional.of(takenOver);
+        }
+
+        JobLease fresh = new JobLease();
+        fresh.setId(id);
+        fresh.setJobName(jobName);
+        fresh.setShard(shard);
+        fresh.setOwner(nodeId);
+        fresh.setLeaseToken(1);
+        fresh.setAcquiredAt(now);
+        fresh.setHeartbeatAt(now);
+        fresh.setExpiresAt(now.plus(leaseDuration));
+        try {
+            JobLease inserted = mongoTemplate.insert(fresh);
+            log.info("Lease created lease={}", id);
+            return Optional.of(inserted);
+        } catch (DuplicateKeyException e) {
+            return Optional.empty(); // held by another live node
+        }
+    }
+
+    /**
+     * Heartbeat: extends the lease if this node still holds it under the same lease token.
+     *
+     * @return the renewed lease, or null if it was lost
+     */
+    public JobLease renew(JobLease lease) {
+        return renew(lease.getId(), lease.getLeaseToken(), Instant.now());
+    }
+
+    private JobLease renew(String id, Long leaseToken, Instant now) {
+        Criteria criteria = Criteria.where("_id").is(id).and("owner").is(nodeId).and("expiresAt").gte(now);
+        if (leaseToken != null) {
+            criteria = criteria.and("leaseToken").is(leaseToken);
+        }
+        return mongoTemplate.findAndModify(
+                Query.query(criteria),
+                new Update().set("heartbeatAt", now).set("expiresAt", now.plus(leaseDuration)),
+                FindAndModifyOptions.options().returnNew(true),
+                JobLease.class);
+    }
+
+    // Lease check for job runs: true only while the lease document still carries our token. It is not atomic
+    // with the job's writes, which is why every job write must also be conditional on the document's own state
+    public boolean isCurrent(JobLease lease) {
+        return mongoTemplate.exists(
+                Query.query(Criteria.where("_id").is(lease.getId())
+                        .and("owner").is(nodeId)
+                        .and("leaseToken").is(lease.getLeaseToken())
+                        .and("expiresAt").gt(Instant.now())),
+                JobLease.class);
+    }
+
+    public void release(JobLease lease) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(lease.getId()).and("owner").is(nodeId)
+                        .and("leaseToken").is(lease.getLeaseToken())),
+                new Update().set("expiresAt", Instant.now()),
+                JobLease.class);
+    }
+
+    /**
+     * Presence record for this node, renewed every heartbeat, so a node that holds no shard yet still counts
+     * towards every node's fair share. Stored as a lease of the reserved {@value #MEMBERS} job.
+     */
+    public void announce() {
+        Instant now = Instant.now();
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(MEMBERS + ":" + nodeId)),
+                new Update().set("jobName", MEMBERS).set("owner", nodeId).set("heartbeatAt", now)
+                        .set("expiresAt", now.plus(leaseDuration)).setOnInsert("acquiredAt", now),
+                JobLease.class);
+    }
+
+    // Nodes whose presence record has not lapsed, this one included
+    public int countLiveNodes() {
+        long live = mongoTemplate.count(
+                Query.query(Criteria.where("jobName").is(MEMBERS).and("expiresAt").gt(Instant.now())), JobLease.class);
+        return (int) Math.max(1, live);
+    }
+
+    public void withdraw() {
+        mongoTemplate.remove(Query.query(Criteria.where("jobName").is(MEMBERS).and("owner").is(nodeId)), JobLease.class);
+    }
+
+    public List<JobLease> findByJob(String jobName) {
+        return mongoTemplate.find(Query.query(Criteria.where("jobName").is(jobName)), JobLease.class);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
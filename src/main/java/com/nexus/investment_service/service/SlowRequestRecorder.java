@@ -0,0 +1,65 @@
+package com.nexus.investment_service.service;
+
+import com.nexus.investment_service.dto.SlowRequestDTO;
+import com.nexus.investment_service.utils.PhaseTimings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the phase breakdowns of the slowest N requests seen since startup. Requests faster than the
+ * current N-th slowest are rejected with a single volatile read, so the common case takes no lock.
+ */
+@Component
+public class SlowRequestRecorder {
+
+    private record Entry(long totalNanos, SlowRequestDTO request) {}
+
+    private final int capacity;
+    private final PriorityQueue<Entry> slowest = new PriorityQueue<>(Comparator.comparingLong(Entry::totalNanos));
+    private volatile long admissionThresholdNanos = -1;
+
+    public SlowRequestRecorder(@Value("${investment.timing.slow-request-capacity:50}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("investment.timing.slow-request-capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public void record(PhaseTimings timings) {
+        long totalNanos = timings.getTotalNanos();
+        if (totalNanos <= admissionThresholdNanos) {
+            return;
+        }
+        Map<String, Double> phaseMillis = new LinkedHashMap<>();
+        timings.getPhases().forEach((name, phase) -> phaseMillis.put(name, phase.getTotalNanos() / 1_000_000.0));
+        Entry entry = new Entry(totalNanos,
+                new SlowRequestDTO(timings.getOperation(), Instant.now(), totalNanos / 1_000_000.0, phaseMillis));
+        synchronized (slowest) {
+            slowest.add(entry);
+            if (slowest.size() > capacity) {
+                slowest.poll();
+            }
+            if (slowest.size() == capacity) {
+                admissionThresholdNanos = slowest.peek().totalNanos();
+            }
+        }
+    }
+
+    // Slowest first
+    public List<SlowRequestDTO> getSlowest() {
+        List<Entry> snapshot;
+        synchronized (slowest) {
+            snapshot = new ArrayList<>(slowest);
+        }
+        snapshot.sort(Comparator.comparingLong(Entry::totalNanos).reversed());
+        return snapshot.stream().map(Entry::request).toList();
+    }
+}
@@ -9,10 +9,28 @@ public class Constants {
      */
     public static final String USER_SERVICE_BASE_URL = "http://localhost:3000/api/v1/users";
 
+    // Reactor context key on user service calls: true only on the debit that starts a wallet operation, the one call the bulkhead may reject
+    public static final String USER_CALL_BULKHEAD_GATED = "investment.user-call.bulkhead-gated";
+
 
     public static final String STATUS_OPEN = "OPEN";
     public static final String STATUS_FUNDED = "FUNDED";
     public static final String STATUS_CLOSED = "CLOSED";
 
+    // Investment sequencer: number of lock stripes requestIds are hashed onto, and the most investments drained per pass
+    public static final int SEQUENCER_STRIPES = 64;
+    public static final int SEQUENCER_MAX_BATCH_SIZE = 256;
+
+    // Upper bound on the N of the top-N ranking endpoints
+    public static final int MAX_RANKING_LIMIT = 100;
+
+    // Phase names reported by PhaseTimings (JFR events, Server-Timing, slow-request recorder)
+    public static final String PHASE_MONGO_READ = "mongo-read";
+    public static final String PHASE_VALIDATION = "validation";
+    public static final String PHASE_WALLET_DEBIT = "wallet-debit";
+    public static final String PHASE_WALLET_CREDIT = "wallet-credit";
+    public static final String PHASE_MONGO_SAVE = "mongo-save";
+    public static final String PHASE_SEQUENCER = "sequencer";
+
 
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.nexus.investment_service.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one phase (Mongo read, validation, wallet call, save) of a funding operation.
+ * Costs a couple of field stores unless a recording has the event enabled.
+ */
+@Name("com.nexus.investment.FundingPhase")
+@Label("Funding Phase")
+@Category({"Investment Service", "Funding"})
+@Description("Time spent in one phase of a funding request operation")
+@StackTrace(false)
+class FundingPhaseEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Request Id")
+    String requestId;
+}
@@ -0,0 +1,15 @@
+package com.nexus.investment_service.utils;
+
+/**
+ * Pro-rata payout arithmetic shared by return distribution and payout exports.
+ */
+public class Payouts {
+    // Investor's share of the committed return, proportional to their share of the principal raised
+    public static double returnShare(double investedPrincipal, double totalPrincipal, double committedReturn) {
+        if (totalPrincipal <= 0) {
+            return 0.0;
+        }
+        double ratio = investedPrincipal / totalPrincipal; // sum ratios ~ 1.0
+        return ratio * committedReturn;
+    }
+}
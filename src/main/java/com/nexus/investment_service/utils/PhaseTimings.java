@@ -0,0 +1,119 @@
+package com.nexus.investment_service.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-request phase breakdown, bound to the handling thread between {@link #start(String)} and {@link #end()}.
+ * <p>
+ * {@link #time(String, String, Supplier)} wraps a phase in a {@link FundingPhaseEvent} and, when a breakdown is
+ * active on the thread, adds the elapsed time to it. Phases with the same name are summed, so memory stays
+ * bounded by the number of distinct phases. Work done on behalf of other callers (e.g. a batched investment)
+ * is attributed to the thread that actually performed it.
+ */
+public final class PhaseTimings {
+
+    private static final ThreadLocal<PhaseTimings> CURRENT = new ThreadLocal<>();
+
+    public static final class Phase {
+        private long totalNanos;
+        private int count;
+
+        public long getTotalNanos() { return totalNanos; }
+        public int getCount() { return count; }
+    }
+
+    private final String operation;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private long totalNanos = -1;
+
+    private PhaseTimings(String operation) {
+        this.operation = operation;
+    }
+
+    public static PhaseTimings start(String operation) {
+        PhaseTimings timings = new PhaseTimings(operation);
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static PhaseTimings current() {
+        return CURRENT.get();
+    }
+
+    public static PhaseTimings end() {
+        PhaseTimings timings = CURRENT.get();
+        CURRENT.remove();
+        if (timings != null) {
+            timings.totalNanos = System.nanoTime() - timings.startNanos;
+        }
+        return timings;
+    }
+
+    public static <T> T time(String phase, String requestId, Supplier<T> work) {
+        PhaseTimings current = CURRENT.get();
+        FundingPhaseEvent event = new FundingPhaseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = current == null ? null : current.operation;
+                event.phase = phase;
+                event.requestId = requestId;
+                event.commit();
+            }
+            if (current != null) {
+                current.add(phase, elapsed);
+            }
+        }
+    }
+
+    public static void time(String phase, String requestId, Runnable work) {
+        time(phase, requestId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private void add(String phase, long elapsedNanos) {
+        Phase entry = phases.computeIfAbsent(phase, k -> new Phase());
+        entry.totalNanos += elapsedNanos;
+        entry.count++;
+    }
+
+    public String getOperation() { return operation; }
+
+    public Map<String, Phase> getPhases() { return phases; }
+
+    // Total request time once ended, otherwise time elapsed so far
+    public long getTotalNanos() {
+        return totalNanos >= 0 ? totalNanos : System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the breakdown as a Server-Timing header value, e.g.
+     * {@code mongo-read;dur=2.1, wallet-debit;dur=35.0;desc="2 calls", total;dur=40.3}.
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        phases.forEach((name, phase) -> {
+            header.append(name).append(";dur=").append(millis(phase.totalNanos));
+            if (phase.count > 1) {
+                header.append(";desc=\"").append(phase.count).append(" calls\"");
+            }
+            header.append(", ");
+        });
+        return header.append("total;dur=").append(millis(getTotalNanos())).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
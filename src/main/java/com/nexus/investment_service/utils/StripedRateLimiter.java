@@ -0,0 +1,69 @@
+package com.nexus.investment_service.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, allocation-free rate limiter over a fixed array of stripes.
+ * <p>
+ * Each stripe is a token bucket expressed as a GCRA "theoretical arrival time" held in a single long,
+ * so admitting a call is one CAS. Keys are hashed onto stripes; keys that collide share a bucket,
+ * which can only make the limiter stricter, never looser.
+ */
+public class StripedRateLimiter {
+
+    private final AtomicLongArray theoreticalArrival;
+    private final int mask;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long origin = System.nanoTime();
+
+    public StripedRateLimiter(int stripes, double permitsPerSecond, int burst) {
+        if (stripes <= 0 || permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("stripes, permitsPerSecond and burst must be positive");
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.theoreticalArrival = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+    }
+
+    /**
+     * Takes one permit for the key.
+     *
+     * @return 0 if the call is admitted, otherwise the nanoseconds until a permit becomes available
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime() - origin);
+    }
+
+    // nowNanos is measured from construction so that a zeroed stripe always reads as "full bucket"
+    long tryAcquire(String key, long nowNanos) {
+        int slot = spread(key.hashCode()) & mask;
+        while (true) {
+            long current = theoreticalArrival.get(slot);
+            long base = Math.max(current, nowNanos);
+            long ahead = base - nowNanos;
+            if (ahead > burstToleranceNanos) {
+                return ahead - burstToleranceNanos;
+            }
+            if (theoreticalArrival.compareAndSet(slot, current, base + emissionIntervalNanos)) {
+                return 0L;
+            }
+        }
+    }
+
+    // Gives back a permit taken by tryAcquire when the call is rejected further on
+    public void release(String key) {
+        int slot = spread(key.hashCode()) & mask;
+        theoreticalArrival.getAndAdd(slot, -emissionIntervalNanos);
+    }
+
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
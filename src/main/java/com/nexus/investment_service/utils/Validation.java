@@ -25,10 +25,15 @@ public class Validation {
 
     // Validates walletAdjustment (negative) and remaining requirement
     public static void validateInvestment(FundingRequest request, double walletAdjustment) {
+        validateInvestment(request, walletAdjustment, 0.0);
+    }
+
+    // Same check, with reservedAmount already promised to investments still in flight
+    public static void validateInvestment(FundingRequest request, double walletAdjustment, double reservedAmount) {
         if (walletAdjustment >= 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "walletAdjustment must be negative for deduction.");
         }
-        double remaining = request.getRequiredAmount() - request.getCurrentFunded();
+        double remaining = request.getRequiredAmount() - request.getCurrentFunded() - reservedAmount;
         if (Math.abs(walletAdjustment) > remaining) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "Investment exceeds remaining required amount. Remaining: " + remaining);
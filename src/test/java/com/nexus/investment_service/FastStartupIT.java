@@ -0,0 +1,103 @@
+package com.nexus.investment_service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures time to first successful funding request against the packaged fast-startup artifact: the extracted
+ * AOT-processed jar started with its AppCDS archive, as it runs in production. Runs in the integration-test
+ * phase of {@code ./mvnw -Pfast-startup verify}, after the training run has written the archive.
+ * <p>
+ * The timing is reported (test report entry and log), not asserted, since it depends on the machine.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FastStartupIT {
+
+    private static final Logger log = LoggerFactory.getLogger(FastStartupIT.class);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Container
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Test
+    @DisplayName("the AOT/CDS artifact serves GET /api/v1/funding-requests")
+    void timeToFirstFundingRequest(TestReporter reporter) throws Exception {
+        Path appDir = Path.of(System.getProperty("fastStartup.appDir", "target/app"));
+        Path jar = appDir.resolve(System.getProperty("fastStartup.jar", "investment-service-0.0.1-SNAPSHOT.jar"));
+        Path archive = appDir.resolve("application.jsa");
+        assumeTrue(Files.exists(jar) && Files.exists(archive), "Build with ./mvnw -Pfast-startup package first");
+
+        int port = freePort();
+        Path output = appDir.resolve("fast-startup-it.log");
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-XX:SharedArchiveFile=" + archive,
+                "-Dspring.aot.enabled=true",
+                "-jar", jar.toString(),
+                "--spring.profiles.active=fast-startup",
+                "--server.port=" + port,
+                "--spring.data.mongodb.uri=" + mongo.getReplicaSetUrl("investment-it"));
+
+        long start = System.nanoTime();
+        Process app = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output.toFile()).start();
+        try {
+            awaitFirstSuccess(app, URI.create("http://localhost:" + port + "/api/v1/funding-requests"), output);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            reporter.publishEntry("timeToFirstFundingRequestMs", Long.toString(elapsedMs));
+            log.info("Fast-startup artifact served its first funding request after {} ms", elapsedMs);
+        } finally {
+            app.destroy();
+            if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                app.destroyForcibly();
+            }
+        }
+    }
+
+    private static void awaitFirstSuccess(Process app, URI uri, Path output) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                fail("Application exited with " + app.exitValue() + ", see " + output);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        fail("No successful response within " + STARTUP_TIMEOUT + ", see " + output);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
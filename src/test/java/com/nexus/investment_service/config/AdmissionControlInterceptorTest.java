@@ -0,0 +1,62 @@
+package com.nexus.investment_service.config;
+
+import com.nexus.investment_service.utils.StripedRateLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlInterceptorTest {
+
+    private final StripedRateLimiter userLimiter = new StripedRateLimiter(16, 0.001, 1);
+    private final StripedRateLimiter requestLimiter = new StripedRateLimiter(16, 0.001, 1);
+
+    @Test
+    @DisplayName("a saturated bulkhead rejects before any user permit is taken")
+    void testBulkheadCheckedFirst() throws Exception {
+        UserServiceBulkhead bulkhead = new UserServiceBulkhead(1, 0);
+        assertTrue(bulkhead.tryAcquire());
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(userLimiter, requestLimiter, bulkhead);
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(invest("user-1", "req-1"), rejected, null));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        bulkhead.release();
+        assertTrue(interceptor.preHandle(invest("user-1", "req-1"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("a request-bucket rejection gives the user permit back")
+    void testRequestRejectionKeepsUserPermit() throws Exception {
+        AdmissionControlInterceptor interceptor =
+                new AdmissionControlInterceptor(userLimiter, requestLimiter, new UserServiceBulkhead(1, 0));
+        assertTrue(interceptor.preHandle(invest("user-1", "req-1"), new MockHttpServletResponse(), null));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(invest("user-2", "req-1"), rejected, null));
+        assertEquals(429, rejected.getStatus());
+
+        assertTrue(interceptor.preHandle(invest("user-2", "req-2"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    @DisplayName("a debit shed by the bulkhead carries Retry-After")
+    void testRejectionCarriesRetryAfter() {
+        assertEquals("1", new UserServiceBulkhead(1, 0).rejection().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    private static MockHttpServletRequest invest(String userId, String requestId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/funding-requests/" + requestId + "/invest");
+        request.addHeader("X-User-Id", userId);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("requestId", requestId));
+        return request;
+    }
+}
@@ -0,0 +1,68 @@
+package com.nexus.investment_service.repository;
+
+import com.nexus.investment_service.model.FundingRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static com.nexus.investment_service.utils.Constants.STATUS_OPEN;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the routing against a single-node replica set (the Testcontainers MongoDB image is started with
+ * --replSet), which supports causal sessions, secondaryPreferred reads and majority writes.
+ * Skipped when Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "investment.mongo.routing.enabled=true",
+        "investment.mongo.max-staleness-seconds=90"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class FundingRequestRoutingTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    FundingRequestRouting fundingRequestRouting;
+
+    @Test
+    @DisplayName("a caller reads its own critical write through a causal session")
+    void testReadYourWrites() {
+        FundingRequest saved = fundingRequestRouting.saveCritical(request("funder-1"), Set.of("investor-1"));
+
+        FundingRequest read = fundingRequestRouting.findById(saved.getId(), "investor-1").orElseThrow();
+
+        assertEquals(saved.getId(), read.getId());
+        assertEquals("funder-1", read.getFunderId());
+    }
+
+    @Test
+    @DisplayName("cosmetic writes and funder listings go through the routed templates")
+    void testCosmeticWriteAndFunderListing() {
+        FundingRequest saved = fundingRequestRouting.saveCritical(request("funder-2"), Set.of("funder-2"));
+        fundingRequestRouting.updateCosmetic(saved.getId(), new Update().set("title", "Renamed"), "funder-2");
+
+        assertEquals("Renamed", fundingRequestRouting.findByFunderId("funder-2").get(0).getTitle());
+        assertTrue(fundingRequestRouting.findAll(null).stream().anyMatch(r -> r.getId().equals(saved.getId())));
+    }
+
+    private static FundingRequest request(String funderId) {
+        FundingRequest request = new FundingRequest("Routing", 1000.0, 100.0, "Desc", LocalDateTime.now().plusDays(5), funderId);
+        request.setStatus(STATUS_OPEN);
+        request.setCreatedAt(LocalDateTime.now());
+        return request;
+    }
+}
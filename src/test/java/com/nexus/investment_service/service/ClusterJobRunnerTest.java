@@ -0,0 +1,132 @@
+package com.nexus.investment_service.service;
+
+import com.nexus.investment_service.dto.JobStatusDTO;
+import com.nexus.investment_service.model.JobLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.ExecutorServiceAdapter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterJobRunnerTest {
+
+    @Mock
+    LeaseManager leaseManager;
+
+    RecordingJob job;
+
+    @BeforeEach
+    void setUp() {
+        when(leaseManager.getNodeId()).thenReturn("node-a");
+    }
+
+    @Test
+    @DisplayName("heartbeat claims at most max-shards-per-node shards and runs each claimed shard")
+    void testClaimsUpToLimitAndRuns() {
+        job = new RecordingJob(4);
+        when(leaseManager.tryAcquire(eq("test-job"), anyInt()))
+                .thenAnswer(invocation -> Optional.of(lease("test-job", invocation.getArgument(1), 1)));
+        ClusterJobRunner runner = runner(2);
+
+        runner.heartbeat();
+
+        assertEquals(2, job.runShards.size());
+        verify(leaseManager, times(2)).tryAcquire(eq("test-job"), anyInt());
+    }
+
+    @Test
+    @DisplayName("a shard whose lease cannot be renewed is dropped and no longer run")
+    void testLostLeaseStopsRuns() {
+        job = new RecordingJob(1);
+        when(leaseManager.tryAcquire("test-job", 0))
+                .thenReturn(Optional.of(lease("test-job", 0, 7)))
+                .thenReturn(Optional.empty());
+        when(leaseManager.renew(any())).thenReturn(null);
+        when(leaseManager.findByJob("test-job")).thenReturn(List.of());
+        ClusterJobRunner runner = runner(4);
+
+        runner.heartbeat();
+        runner.heartbeat();
+
+        assertEquals(List.of(0), job.runShards);
+        assertEquals(List.of(7L), job.leaseTokens);
+        JobStatusDTO status = runner.getStatus().get(0);
+        assertEquals(1, status.getRuns());
+        assertEquals(3, status.getItemsProcessed());
+    }
+
+    @Test
+    @DisplayName("shards above the fair share are released once another node is live")
+    void testReleasesAboveFairShare() {
+        job = new RecordingJob(4);
+        when(leaseManager.tryAcquire(eq("test-job"), anyInt()))
+                .thenAnswer(invocation -> Optional.of(lease("test-job", invocation.getArgument(1), 1)));
+        when(leaseManager.renew(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(leaseManager.countLiveNodes()).thenReturn(1, 2);
+        ClusterJobRunner runner = runner(4);
+
+        runner.heartbeat();
+        assertEquals(4, job.runShards.size());
+        runner.heartbeat();
+
+        verify(leaseManager, times(2)).release(any());
+        verify(leaseManager, times(4)).tryAcquire(eq("test-job"), anyInt());
+    }
+
+    private ClusterJobRunner runner(int maxShardsPerNode) {
+        return new ClusterJobRunner(List.of(job), leaseManager, maxShardsPerNode, new ExecutorServiceAdapter(new SyncTaskExecutor()));
+    }
+
+    private static JobLease lease(String jobName, int shard, long token) {
+        JobLease lease = new JobLease();
+        lease.setId(JobLease.idOf(jobName, shard));
+        lease.setJobName(jobName);
+        lease.setShard(shard);
+        lease.setOwner("node-a");
+        lease.setLeaseToken(token);
+        lease.setExpiresAt(Instant.now().plusSeconds(30));
+        return lease;
+    }
+
+    private static class RecordingJob implements ClusterJob {
+        private final int shards;
+        private final List<Integer> runShards = new CopyOnWriteArrayList<>();
+        private final List<Long> leaseTokens = new CopyOnWriteArrayList<>();
+
+        RecordingJob(int shards) {
+            this.shards = shards;
+        }
+
+        @Override
+        public String name() { return "test-job"; }
+
+        @Override
+        public int shardCount() { return shards; }
+
+        @Override
+        public Duration interval() { return Duration.ZERO; }
+
+        @Override
+        public long runShard(JobShard shard) {
+            runShards.add(shard.getShard());
+            leaseTokens.add(shard.getLeaseToken());
+            return 3;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.nexus.investment_service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nexus.investment_service.model.ArchivedFundingRequest;
+import com.nexus.investment_service.model.FundingRequest;
+import com.nexus.investment_service.utils.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.nexus.investment_service.utils.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FundingReportServiceTest {
+
+    @Mock
+    private MongoTemplate readTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private FundingReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        reportService = new FundingReportService(readTemplate, objectMapper);
+    }
+
+    @Test
+    @DisplayName("payout CSV has one row per investor with the distributeReturns figures; archived duplicates are skipped")
+    void testPayoutCsv() throws Exception {
+        FundingRequest funded = request("r1", "Solar, phase \"1\"", STATUS_FUNDED, Map.of("inv1", 750.0, "inv2", 250.0));
+        FundingRequest settled = request("r2", "Wind", STATUS_FUNDED, Map.of("inv1", 1000.0));
+        settled.setReturnDistributed(true);
+        when(readTemplate.stream(any(Query.class), eq(FundingRequest.class))).thenReturn(Stream.of(funded));
+        when(readTemplate.stream(any(Query.class), eq(ArchivedFundingRequest.class)))
+                .thenReturn(Stream.of(ArchivedFundingRequest.from(settled), ArchivedFundingRequest.from(funded)));
+        when(readTemplate.find(any(Query.class), eq(FundingRequest.class))).thenReturn(List.of(funded));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportService.writePayouts("fund1", ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals(String.join(",", FundingReportService.PAYOUT_COLUMNS), lines.get(0));
+        // 750 of 1000 principal takes 75% of the 100 committed return
+        assertEquals(Set.of(
+                "r1,\"Solar, phase \"\"1\"\"\",FUNDED,false,inv1,750.0,75.0,825.0",
+                "r1,\"Solar, phase \"\"1\"\"\",FUNDED,false,inv2,250.0,25.0,275.0"), Set.copyOf(lines.subList(1, 3)));
+        assertEquals("r2,Wind,FUNDED,true,inv1,1000.0,100.0,1100.0", lines.get(3));
+    }
+
+    @Test
+    @DisplayName("investment NDJSON writes one JSON object per line and flushes per batch, not per row")
+    void testInvestmentNdjson() throws Exception {
+        FundingRequest open = request("r1", "Solar", STATUS_OPEN, Map.of("inv1", 400.0, "inv2", 100.0, "inv3", 500.0));
+        FundingRequest empty = request("r2", "No investors yet", STATUS_OPEN, Map.of());
+        when(readTemplate.stream(any(Query.class), eq(FundingRequest.class))).thenReturn(Stream.of(open, empty));
+        when(readTemplate.stream(any(Query.class), eq(ArchivedFundingRequest.class))).thenReturn(Stream.empty());
+
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        reportService.writeInvestments("fund1", ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals(1, flushes.get());
+        JsonNode row = objectMapper.readTree(lines.stream().filter(line -> line.contains("\"inv1\"")).findFirst().orElseThrow());
+        assertEquals("r1", row.get("requestId").asText());
+        assertEquals("inv1", row.get("investorId").asText());
+        assertEquals(400.0, row.get("investedAmount").asDouble());
+        assertEquals(0.4, row.get("shareOfRaised").asDouble());
+    }
+
+    private static FundingRequest request(String id, String title, String status, Map<String, Double> investors) {
+        FundingRequest request = new FundingRequest(title, 1000.0, 100.0, "description", LocalDateTime.now().plusDays(5), "fund1");
+        request.setId(id);
+        request.setStatus(status);
+        request.setInvestorAmounts(new LinkedHashMap<>(investors));
+        request.setCurrentFunded(investors.values().stream().mapToDouble(Double::doubleValue).sum());
+        return request;
+    }
+}
@@ -0,0 +1,133 @@
+package com.nexus.investment_service.service;
+
+import com.nexus.investment_service.model.FundingRequest;
+import com.nexus.investment_service.repository.FundingRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.nexus.investment_service.utils.Constants.STATUS_FUNDED;
+import static com.nexus.investment_service.utils.Constants.STATUS_OPEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FundingRequestRankingsTest {
+
+    @Mock
+    FundingRequestRepository fundingRequestRepository;
+
+    FundingRequestRankings rankings;
+
+    @BeforeEach
+    void setUp() {
+        rankings = new FundingRequestRankings(fundingRequestRepository, true);
+    }
+
+    @Test
+    @DisplayName("closingSoon orders OPEN requests by deadline and skips passed deadlines")
+    void testClosingSoon() {
+        rankings.update(request("a", 1000.0, 0.0, STATUS_OPEN, 3));
+        rankings.update(request("b", 1000.0, 0.0, STATUS_OPEN, 1));
+        rankings.update(request("c", 1000.0, 0.0, STATUS_OPEN, 2));
+        rankings.update(request("expired", 1000.0, 0.0, STATUS_OPEN, -1));
+
+        assertEquals(List.of("b", "c"), ids(rankings.closingSoon(2)));
+    }
+
+    @Test
+    @DisplayName("almostFunded follows investments and drops requests that leave OPEN")
+    void testAlmostFundedIsIncremental() {
+        rankings.update(request("a", 1000.0, 100.0, STATUS_OPEN, 5));
+        rankings.update(request("b", 1000.0, 500.0, STATUS_OPEN, 5));
+        assertEquals(List.of("b", "a"), ids(rankings.almostFunded(10)));
+
+        rankings.update(request("a", 1000.0, 900.0, STATUS_OPEN, 5));
+        assertEquals(List.of("a", "b"), ids(rankings.almostFunded(10)));
+
+        rankings.update(request("a", 1000.0, 1000.0, STATUS_FUNDED, 5));
+        assertEquals(List.of("b"), ids(rankings.almostFunded(10)));
+        assertEquals(List.of("b"), ids(rankings.closingSoon(10)));
+    }
+
+    @Test
+    @DisplayName("almostFunded skips requests whose deadline has passed")
+    void testAlmostFundedSkipsPassedDeadlines() {
+        rankings.update(request("expired", 1000.0, 990.0, STATUS_OPEN, -1));
+        rankings.update(request("live", 1000.0, 500.0, STATUS_OPEN, 5));
+
+        assertEquals(List.of("live"), ids(rankings.almostFunded(10)));
+    }
+
+    @Test
+    @DisplayName("rankings keep a slim view without investors or description")
+    void testKeepsSlimView() {
+        FundingRequest full = request("a", 1000.0, 100.0, STATUS_OPEN, 5);
+        full.setTitle("Solar roof");
+        full.setDescription("long text");
+        full.setInvestorAmounts(new HashMap<>(Map.of("inv1", 100.0)));
+        rankings.update(full);
+
+        FundingRequest ranked = rankings.almostFunded(1).get(0);
+        assertEquals("Solar roof", ranked.getTitle());
+        assertEquals(100.0, ranked.getCurrentFunded());
+        assertNull(ranked.getDescription());
+        assertNull(ranked.getInvestorAmounts());
+    }
+
+    @Test
+    @DisplayName("refresh rebuilds from Mongo and removes requests no longer OPEN")
+    void testRefresh() {
+        rankings.update(request("stale", 1000.0, 0.0, STATUS_OPEN, 1));
+        when(fundingRequestRepository.findRankingViewByStatus(STATUS_OPEN))
+                .thenReturn(List.of(request("x", 1000.0, 200.0, STATUS_OPEN, 2)));
+
+        rankings.rebuildOnStartup();
+
+        assertEquals(List.of("x"), ids(rankings.almostFunded(10)));
+    }
+
+    @Test
+    @DisplayName("refresh does not roll back saves that land while its snapshot is being read")
+    void testRefreshKeepsNewerLocalUpdates() {
+        rankings.update(request("funded", 1000.0, 900.0, STATUS_OPEN, 1));
+        // The snapshot still sees "funded" as OPEN and does not know "created" yet
+        when(fundingRequestRepository.findRankingViewByStatus(STATUS_OPEN)).thenAnswer(invocation -> {
+            rankings.update(request("funded", 1000.0, 1000.0, STATUS_FUNDED, 1));
+            rankings.update(request("created", 1000.0, 0.0, STATUS_OPEN, 2));
+            return List.of(request("funded", 1000.0, 900.0, STATUS_OPEN, 1));
+        });
+
+        rankings.refresh();
+
+        assertEquals(List.of("created"), ids(rankings.almostFunded(10)));
+
+        // The next snapshot is newer than both updates and is taken as is
+        when(fundingRequestRepository.findRankingViewByStatus(STATUS_OPEN)).thenReturn(List.of());
+        rankings.refresh();
+        assertEquals(List.of(), ids(rankings.almostFunded(10)));
+    }
+
+    private static List<String> ids(List<FundingRequest> requests) {
+        return requests.stream().map(FundingRequest::getId).toList();
+    }
+
+    private static FundingRequest request(String id, double required, double current, String status, int deadlineInDays) {
+        FundingRequest fr = new FundingRequest();
+        fr.setId(id);
+        fr.setRequiredAmount(required);
+        fr.setCurrentFunded(current);
+        fr.setStatus(status);
+        fr.setDeadline(LocalDateTime.now().plusDays(deadlineInDays));
+        return fr;
+    }
+}
@@ -3,28 +3,52 @@ package com.nexus.investment_service.service;
 import com.nexus.investment_service.dto.FundingInvestmentDTO;
 import com.nexus.investment_service.dto.FundingRequestCreationDTO;
 import com.nexus.investment_service.dto.FundingRequestUpdateDTO;
+import com.nexus.investment_service.model.ArchivedFundingRequest;
 import com.nexus.investment_service.model.FundingRequest;
+import com.nexus.investment_service.repository.ArchivedFundingRequestRepository;
 import com.nexus.investment_service.repository.FundingRequestRepository;
+import com.nexus.investment_service.repository.FundingRequestRouting;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 
+import java.net.ConnectException;
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.nexus.investment_service.utils.Constants.STATUS_CLOSED;
 import static com.nexus.investment_service.utils.Constants.STATUS_FUNDED;
 import static com.nexus.investment_service.utils.Constants.STATUS_OPEN;
+import static com.nexus.investment_service.utils.Constants.USER_CALL_BULKHEAD_GATED;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.clearInvocations;
@@ -36,6 +60,18 @@ class FundingRequestServiceTest {
     @Mock
     FundingRequestRepository fundingRequestRepository;
 
+    @Mock
+    ArchivedFundingRequestRepository archivedFundingRequestRepository;
+
+    @Mock
+    FundingRequestRouting fundingRequestRouting;
+
+    @Mock
+    FundingRequestRankings fundingRequestRankings;
+
+    @Mock
+    FundingResponseCache fundingResponseCache;
+
     @Mock(answer = Answers.RETURNS_DEEP_STUBS)
     WebClient webClient;
 
@@ -60,7 +96,7 @@ class FundingRequestServiceTest {
         dto.setCommittedReturnAmount(200.0);
         dto.setDescription("Acquire inventory");
 
-        when(fundingRequestRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fundingRequestRouting.saveCritical(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         FundingRequest created = fundingRequestService.createFundingRequest("funder-1", dto);
 
@@ -79,7 +115,7 @@ class FundingRequestServiceTest {
     void testInvestPartialFunding() {
         FundingRequest request = baseRequest("req-1", 1000.0, 0.0, STATUS_OPEN, 300.0);
         when(fundingRequestRepository.findById("req-1")).thenReturn(Optional.of(request));
-        when(fundingRequestRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fundingRequestRouting.saveCriticalIfOpen(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         FundingInvestmentDTO investmentDTO = new FundingInvestmentDTO();
         investmentDTO.setInvestorId("investor-1");
@@ -98,7 +134,7 @@ class FundingRequestServiceTest {
     void testInvestTriggersFundedAndFunderCredit() {
         FundingRequest request = baseRequest("req-2", 500.0, 400.0, STATUS_OPEN, 100.0);
         when(fundingRequestRepository.findById("req-2")).thenReturn(Optional.of(request));
-        when(fundingRequestRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fundingRequestRouting.saveCriticalIfOpen(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         FundingInvestmentDTO dto = new FundingInvestmentDTO();
         dto.setInvestorId("investor-2");
@@ -109,10 +145,140 @@ class FundingRequestServiceTest {
         assertEquals(500.0, updated.getCurrentFunded());
         assertEquals(STATUS_FUNDED, updated.getStatus());
         assertEquals(100.0, updated.getInvestorAmounts().get("investor-2"));
+        verify(fundingRequestRankings).update(updated);
         // investor deduction + funder credit
         verify(webClient, times(2)).put();
     }
 
+    @Test
+    @DisplayName("concurrent investments into one request are coalesced and fund it exactly once")
+    void testConcurrentInvestmentsFundOnce() throws Exception {
+        FundingRequest request = baseRequest("req-6", 500.0, 0.0, STATUS_OPEN, 50.0);
+        when(fundingRequestRepository.findById("req-6")).thenReturn(Optional.of(request));
+        int investors = 5; // exactly what the request can absorb
+        // No investor commits before all have reserved, so the commits all contend for the stripe together
+        CountDownLatch allReserved = new CountDownLatch(investors);
+        when(webClient.put().uri(anyString()).bodyValue(any()).retrieve().toBodilessEntity()).thenAnswer(invocation -> {
+            allReserved.countDown();
+            allReserved.await(10, TimeUnit.SECONDS);
+            return Mono.just(ResponseEntity.ok().build());
+        });
+        clearInvocations(webClient);
+        // The first save holds the stripe until every other commit is queued behind it
+        AtomicBoolean firstSave = new AtomicBoolean(true);
+        when(fundingRequestRouting.saveCriticalIfOpen(any(), any())).thenAnswer(invocation -> {
+            FundingRequest saving = invocation.getArgument(0);
+            if (firstSave.getAndSet(false)) {
+                int waiting = investors - saving.getInvestorAmounts().size();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (fundingRequestService.queuedInvestments("req-6") < waiting && System.nanoTime() < deadline) {
+                    Thread.sleep(1);
+                }
+            }
+            return saving;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(investors);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<FundingRequest>> results = new ArrayList<>();
+        for (int i = 0; i < investors; i++) {
+            FundingInvestmentDTO dto = new FundingInvestmentDTO();
+            dto.setInvestorId("investor-" + i);
+            dto.setWalletAdjustment(-100.0);
+            results.add(pool.submit(() -> {
+                start.await();
+                return fundingRequestService.investInFundingRequest("req-6", dto);
+            }));
+        }
+        start.countDown();
+        for (Future<FundingRequest> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // One more investor finds nothing left and is rejected before their wallet is touched
+        FundingInvestmentDTO late = new FundingInvestmentDTO();
+        late.setInvestorId("investor-late");
+        late.setWalletAdjustment(-100.0);
+        assertThrows(ResponseStatusException.class, () -> fundingRequestService.investInFundingRequest("req-6", late));
+
+        assertEquals(500.0, request.getCurrentFunded());
+        assertEquals(STATUS_FUNDED, request.getStatus());
+        assertEquals(5, request.getInvestorAmounts().size());
+        // five investor deductions + a single funder credit
+        verify(webClient, times(6)).put();
+        // the first commit alone, then everything queued behind it in one batch
+        verify(fundingRequestRouting, atMost(2)).saveCriticalIfOpen(any(), any());
+    }
+
+    @Test
+    @DisplayName("an unreachable user service fails only the investor whose debit failed")
+    void testDebitFailureIsolated() {
+        FundingRequest request = baseRequest("req-10", 1000.0, 0.0, STATUS_OPEN, 100.0);
+        when(fundingRequestRepository.findById("req-10")).thenReturn(Optional.of(request));
+        when(fundingRequestRouting.saveCriticalIfOpen(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        stubUserServiceCall("/investor-down", Mono.error(new WebClientRequestException(new ConnectException("refused"),
+                HttpMethod.PUT, URI.create("http://localhost:3000/api/v1/users/investor-down"), new HttpHeaders())));
+
+        FundingInvestmentDTO failing = new FundingInvestmentDTO();
+        failing.setInvestorId("investor-down");
+        failing.setWalletAdjustment(-600.0);
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> fundingRequestService.investInFundingRequest("req-10", failing));
+        assertEquals(HttpStatus.BAD_GATEWAY, error.getStatusCode());
+
+        // The failed investor's reservation was released, so the full amount is still available
+        FundingInvestmentDTO ok = new FundingInvestmentDTO();
+        ok.setInvestorId("investor-up");
+        ok.setWalletAdjustment(-1000.0);
+        FundingRequest saved = fundingRequestService.investInFundingRequest("req-10", ok);
+        assertEquals(1000.0, saved.getCurrentFunded());
+        assertEquals(Map.of("investor-up", 1000.0), saved.getInvestorAmounts());
+    }
+
+    @Test
+    @DisplayName("a failed funder credit leaves the request untouched and refunds the investor")
+    void testFunderCreditFailureRollsBack() {
+        FundingRequest request = baseRequest("req-11", 500.0, 400.0, STATUS_OPEN, 50.0);
+        request.updateInvestorAmount("investor-early", 400.0);
+        when(fundingRequestRepository.findById("req-11")).thenReturn(Optional.of(request));
+        stubUserServiceCall("/funder-req-11", Mono.error(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "User service is at capacity.")));
+        WebClient.RequestBodySpec investorCalls = stubUserServiceCall("/investor-last", Mono.just(ResponseEntity.ok().build()));
+
+        FundingInvestmentDTO dto = new FundingInvestmentDTO();
+        dto.setInvestorId("investor-last");
+        dto.setWalletAdjustment(-100.0);
+        assertThrows(ResponseStatusException.class, () -> fundingRequestService.investInFundingRequest("req-11", dto));
+
+        assertEquals(400.0, request.getCurrentFunded());
+        assertEquals(STATUS_OPEN, request.getStatus());
+        assertEquals(Map.of("investor-early", 400.0), request.getInvestorAmounts());
+        verify(fundingRequestRouting, never()).saveCriticalIfOpen(any(), any());
+        // investor debit, failed funder credit, investor refund
+        verify(webClient, times(3)).put();
+        verify(investorCalls, times(2)).bodyValue(any());
+    }
+
+    @Test
+    @DisplayName("a commit against a request closed since it was read is refunded, not written back as OPEN")
+    void testCommitAfterCloseRefunds() {
+        FundingRequest request = baseRequest("req-12", 1000.0, 0.0, STATUS_OPEN, 100.0);
+        when(fundingRequestRepository.findById("req-12")).thenReturn(Optional.of(request));
+        when(fundingRequestRouting.saveCriticalIfOpen(any(), any())).thenReturn(null);
+        WebClient.RequestBodySpec investorCalls = stubUserServiceCall("/investor-late", Mono.just(ResponseEntity.ok().build()));
+
+        FundingInvestmentDTO dto = new FundingInvestmentDTO();
+        dto.setInvestorId("investor-late");
+        dto.setWalletAdjustment(-100.0);
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> fundingRequestService.investInFundingRequest("req-12", dto));
+
+        assertEquals(HttpStatus.CONFLICT, error.getStatusCode());
+        // debit, then refund
+        verify(investorCalls, times(2)).bodyValue(any());
+        verify(fundingResponseCache, never()).invalidate(any());
+    }
+
     @Test
     @DisplayName("distributeReturns should debit funder and credit investors proportionally")
     void testDistributeReturnsSuccess() {
@@ -123,13 +289,21 @@ class FundingRequestServiceTest {
         investors.put("invC", 100.0);
         request.setInvestorAmounts(investors);
         when(fundingRequestRepository.findById("req-3")).thenReturn(Optional.of(request));
-        when(fundingRequestRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fundingRequestRouting.saveCritical(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<Boolean> gated = new ArrayList<>();
+        when(webClient.put().uri(anyString()).bodyValue(any()).retrieve().toBodilessEntity()).thenReturn(Mono.deferContextual(context -> {
+            gated.add(context.getOrDefault(USER_CALL_BULKHEAD_GATED, false));
+            return Mono.just(ResponseEntity.<Void>ok().build());
+        }));
+        clearInvocations(webClient);
 
         FundingRequest distributed = fundingRequestService.distributeReturns("req-3");
 
         assertTrue(distributed.isReturnDistributed());
         // funder debit + 3 investor credits
         verify(webClient, times(4)).put();
+        // only the funder debit may be shed by the bulkhead; the credits completing the payout are never gated
+        assertEquals(List.of(true, false, false, false), gated);
     }
 
     @Test
@@ -142,11 +316,14 @@ class FundingRequestServiceTest {
     }
 
     @Test
-    @DisplayName("updateFundingRequest modifies editable fields when OPEN")
+    @DisplayName("updateFundingRequest $sets only the edited fields, at the critical write concern for return edits")
     void testUpdateFundingRequest() {
         FundingRequest request = baseRequest("req-5", 900.0, 0.0, STATUS_OPEN, 180.0);
         when(fundingRequestRepository.findById("req-5")).thenReturn(Optional.of(request));
-        when(fundingRequestRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        FundingRequest edited = baseRequest("req-5", 900.0, 0.0, STATUS_OPEN, 200.0);
+        edited.setTitle("Updated Title");
+        when(fundingRequestRouting.updateCritical(eq("req-5"), update.capture(), eq(Set.of("funder-req-5")))).thenReturn(edited);
 
         FundingRequestUpdateDTO updateDTO = new FundingRequestUpdateDTO();
         updateDTO.setTitle("Updated Title");
@@ -155,9 +332,78 @@ class FundingRequestServiceTest {
 
         FundingRequest updated = fundingRequestService.updateFundingRequest("req-5", "funder-req-5", updateDTO);
 
-        assertEquals("Updated Title", updated.getTitle());
-        assertEquals("Updated description", updated.getDescription());
-        assertEquals(200.0, updated.getCommittedReturnAmount());
+        assertSame(edited, updated);
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(Set.of("title", "description", "committedReturnAmount"), set.keySet());
+        assertEquals(200.0, set.get("committedReturnAmount"));
+        verify(fundingRequestRouting, never()).saveCritical(any(), any());
+        verify(fundingResponseCache).invalidate("req-5");
+    }
+
+    @Test
+    @DisplayName("updateFundingRequest uses the cosmetic write path for title/description only edits")
+    void testCosmeticUpdate() {
+        FundingRequest request = baseRequest("req-9", 900.0, 0.0, STATUS_OPEN, 180.0);
+        when(fundingRequestRepository.findById("req-9")).thenReturn(Optional.of(request));
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        FundingRequest edited = baseRequest("req-9", 900.0, 0.0, STATUS_OPEN, 180.0);
+        edited.setTitle("Renamed");
+        when(fundingRequestRouting.updateCosmetic(eq("req-9"), update.capture(), eq("funder-req-9"))).thenReturn(edited);
+
+        FundingRequestUpdateDTO updateDTO = new FundingRequestUpdateDTO();
+        updateDTO.setTitle("Renamed");
+
+        FundingRequest updated = fundingRequestService.updateFundingRequest("req-9", "funder-req-9", updateDTO);
+
+        assertEquals("Renamed", updated.getTitle());
+        assertEquals(new Document("$set", new Document("title", "Renamed")), update.getValue().getUpdateObject());
+        verify(fundingRequestRouting, never()).saveCritical(any(), any());
+        verify(fundingResponseCache).invalidate("req-9");
+    }
+
+    @Test
+    @DisplayName("an edit racing a status change away from OPEN is rejected, not written")
+    void testUpdateRejectedOnceNotOpen() {
+        FundingRequest request = baseRequest("req-10", 900.0, 0.0, STATUS_OPEN, 180.0);
+        when(fundingRequestRepository.findById("req-10")).thenReturn(Optional.of(request));
+        when(fundingRequestRouting.updateCosmetic(eq("req-10"), any(), eq("funder-req-10"))).thenReturn(null);
+
+        FundingRequestUpdateDTO updateDTO = new FundingRequestUpdateDTO();
+        updateDTO.setDescription("Too late");
+
+        assertThrows(ResponseStatusException.class,
+                () -> fundingRequestService.updateFundingRequest("req-10", "funder-req-10", updateDTO));
+        verify(fundingResponseCache, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("getFundingRequestById and /mine fall back to the archive for settled requests")
+    void testArchiveFallback() {
+        FundingRequest live = baseRequest("req-7", 500.0, 100.0, STATUS_OPEN, 50.0);
+        FundingRequest settled = baseRequest("req-8", 500.0, 500.0, STATUS_CLOSED, 50.0);
+        settled.setFunderId(live.getFunderId());
+        when(fundingRequestRepository.findById("req-8")).thenReturn(Optional.empty());
+        when(archivedFundingRequestRepository.findById("req-8")).thenReturn(Optional.of(ArchivedFundingRequest.from(settled)));
+        when(fundingRequestRouting.findByFunderId(live.getFunderId())).thenReturn(List.of(live));
+        when(archivedFundingRequestRepository.findByFunderId(live.getFunderId()))
+                .thenReturn(List.of(ArchivedFundingRequest.from(settled), ArchivedFundingRequest.from(live)));
+
+        FundingRequest found = fundingRequestService.getFundingRequestById("req-8");
+        List<FundingRequest> mine = fundingRequestService.getFundingRequestsByFunderId(live.getFunderId());
+
+        assertEquals(STATUS_CLOSED, found.getStatus());
+        assertEquals(500.0, found.getCurrentFunded());
+        assertEquals("Desc", found.getDescription());
+        assertEquals(List.of("req-7", "req-8"), mine.stream().map(FundingRequest::getId).toList());
+    }
+
+    // Gives one user service path its own call chain, so its outcome and calls are separate from the shared stub
+    private WebClient.RequestBodySpec stubUserServiceCall(String path, Mono<ResponseEntity<Void>> result) {
+        WebClient.RequestBodySpec spec = mock(WebClient.RequestBodySpec.class, Answers.RETURNS_DEEP_STUBS);
+        when(spec.bodyValue(any()).retrieve().toBodilessEntity()).thenReturn(result);
+        when(webClient.put().uri(path)).thenReturn(spec);
+        clearInvocations(webClient, spec);
+        return spec;
     }
 
     private FundingRequest baseRequest(String id, double required, double current, String status, double committedReturn) {
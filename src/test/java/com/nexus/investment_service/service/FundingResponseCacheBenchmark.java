@@ -0,0 +1,93 @@
+package com.nexus.investment_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nexus.investment_service.model.FundingRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.nexus.investment_service.service.FundingResponseCacheTest.request;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * CPU time of the calling thread per GET /{requestId} body (50 investors) and per GET / body (200 requests),
+ * re-serialized by Jackson on every call versus served from the cache. Not part of {@code mvn test}; run it
+ * with {@code ./mvnw -Pbenchmark test}. Results go to the test report and the log, nothing is asserted.
+ */
+class FundingResponseCacheBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(FundingResponseCacheBenchmark.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("benchmark: CPU per request, re-serialized versus cached")
+    void benchmarkCpuPerRequest(TestReporter reporter) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeCpuTimeSupported(threads);
+        FundingResponseCache cache = new FundingResponseCache(objectMapper, true, 60_000, 100, 1024);
+        FundingRequest single = request("req-bench", 50);
+        List<FundingRequest> page = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            page.add(request("req-" + i, 5));
+        }
+
+        int iterations = 2_000;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            serializeEachTime(single, iterations);
+            serveCached(cache, single, iterations);
+        }
+        double uncachedById = cpuNanosPerCall(threads, () -> serializeEachTime(single, iterations), iterations);
+        double cachedById = cpuNanosPerCall(threads, () -> serveCached(cache, single, iterations), iterations);
+        double uncachedAll = cpuNanosPerCall(threads, () -> serializeEachTime(page, iterations / 20), iterations / 20);
+        double cachedAll = cpuNanosPerCall(threads, () -> {
+            for (int i = 0; i < iterations / 20; i++) {
+                cache.getAll(() -> page);
+            }
+        }, iterations / 20);
+
+        reporter.publishEntry("byIdReserializedNanos", String.valueOf(Math.round(uncachedById)));
+        reporter.publishEntry("byIdCachedNanos", String.valueOf(Math.round(cachedById)));
+        reporter.publishEntry("allReserializedNanos", String.valueOf(Math.round(uncachedAll)));
+        reporter.publishEntry("allCachedNanos", String.valueOf(Math.round(cachedAll)));
+        log.info("GET /{requestId} cpuNanosPerRequest reserialized={} cached={}", Math.round(uncachedById), Math.round(cachedById));
+        log.info("GET / cpuNanosPerRequest reserialized={} cached={}", Math.round(uncachedAll), Math.round(cachedAll));
+    }
+
+    private interface Work {
+        void run() throws Exception;
+    }
+
+    private static double cpuNanosPerCall(ThreadMXBean threads, Work work, int calls) throws Exception {
+        long start = threads.getCurrentThreadCpuTime();
+        work.run();
+        return (double) (threads.getCurrentThreadCpuTime() - start) / calls;
+    }
+
+    private void serializeEachTime(Object value, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.writeValueAsBytes(value);
+        }
+    }
+
+    private static void serveCached(FundingResponseCache cache, FundingRequest request, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            cache.getById(request.getId(), () -> request);
+        }
+    }
+
+    private static void assumeCpuTimeSupported(ThreadMXBean threads) {
+        assumeTrue(threads.isCurrentThreadCpuTimeSupported(), "thread CPU time not available");
+        if (!threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.nexus.investment_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nexus.investment_service.model.FundingRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static com.nexus.investment_service.utils.Constants.STATUS_OPEN;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FundingResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("serves the cached body until the document is saved, then reloads it")
+    void testInvalidatedOnSave() throws Exception {
+        FundingResponseCache cache = new FundingResponseCache(objectMapper, true, 60_000, 100, 1024);
+        FundingRequest request = request("req-1", 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        FundingResponseCache.Body first = cache.getById("req-1", () -> { loads.incrementAndGet(); return request; });
+        FundingResponseCache.Body second = cache.getById("req-1", () -> { loads.incrementAndGet(); return request; });
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        request.setTitle("Renamed");
+        cache.invalidate("req-1");
+        FundingResponseCache.Body third = cache.getById("req-1", () -> { loads.incrementAndGet(); return request; });
+        assertEquals(2, loads.get());
+        assertEquals("Renamed", objectMapper.readTree(third.json()).get("title").asText());
+    }
+
+    @Test
+    @DisplayName("a body loaded before a concurrent save is not cached")
+    void testSaveDuringLoadIsNotCached() {
+        FundingResponseCache cache = new FundingResponseCache(objectMapper, true, 60_000, 100, 1024);
+        FundingRequest request = request("req-2", 1);
+
+        cache.getById("req-2", () -> { cache.invalidate("req-2"); return request; });
+        cache.getById("req-2", () -> request);
+
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("the list survives saves until its TTL and concurrent misses share one load")
+    void testListSingleFlightAndTtl() throws Exception {
+        FundingResponseCache cache = new FundingResponseCache(objectMapper, true, 60_000, 100, 1024);
+        List<FundingRequest> all = List.of(request("req-5", 1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<FundingResponseCache.Body>> calls = new ArrayList<>();
+            calls.add(pool.submit(() -> cache.getAll(() -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return all;
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                calls.add(pool.submit(() -> cache.getAll(() -> { loads.incrementAndGet(); return all; })));
+            }
+            release.countDown();
+            FundingResponseCache.Body first = calls.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<FundingResponseCache.Body> call : calls) {
+                assertSame(first, call.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        cache.invalidate("req-5");
+        cache.getAll(() -> { loads.incrementAndGet(); return all; });
+        assertEquals(1, loads.get());
+
+        FundingResponseCache expiring = new FundingResponseCache(objectMapper, true, 0, 100, 1024);
+        expiring.getAll(() -> all);
+        expiring.getAll(() -> all);
+        assertEquals(2, expiring.getMisses());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("large bodies carry a gzip variant that decompresses to the JSON bytes")
+    void testGzipVariant() throws Exception {
+        FundingResponseCache cache = new FundingResponseCache(objectMapper, true, 60_000, 100, 1024);
+        FundingResponseCache.Body small = cache.render(request("req-3", 0));
+        FundingResponseCache.Body large = cache.render(request("req-4", 200));
+
+        assertFalse(small.isCompressible());
+        assertTrue(large.isCompressible());
+        assertTrue(large.gzip().length < large.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertArrayEquals(large.json(), in.readAllBytes());
+        }
+    }
+
+    static FundingRequest request(String id, int investors) {
+        FundingRequest request = new FundingRequest("Project " + id, 100_000.0, 5_000.0,
+                "Working capital for the next production run", LocalDateTime.now().plusDays(30), "funder-1");
+        request.setId(id);
+        request.setStatus(STATUS_OPEN);
+        request.setCreatedAt(LocalDateTime.now());
+        Map<String, Double> amounts = new HashMap<>();
+        for (int i = 0; i < investors; i++) {
+            amounts.put("investor-" + i, 100.0 + i);
+        }
+        request.setInvestorAmounts(amounts);
+        request.setCurrentFunded(amounts.values().stream().mapToDouble(Double::doubleValue).sum());
+        return request;
+    }
+}
@@ -0,0 +1,39 @@
+package com.nexus.investment_service.service;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobShardTest {
+
+    @Test
+    @DisplayName("shards are contiguous _id ranges that together cover every id")
+    void testShardsAreContiguousIdRanges() {
+        long first = 1_700_000_000L;
+        long last = first + 999;
+
+        Document shard0 = range(0, 4, first, last);
+        Document shard1 = range(1, 4, first, last);
+        Document shard3 = range(3, 4, first, last);
+
+        assertFalse(shard0.containsKey("$gte"));
+        assertEquals(shard0.get("$lt"), shard1.get("$gte"));
+        assertEquals(first + 250, ((ObjectId) shard1.get("$gte")).getTimestamp());
+        assertEquals(first + 500, ((ObjectId) shard1.get("$lt")).getTimestamp());
+        assertFalse(shard3.containsKey("$lt"));
+        assertEquals(first + 750, ((ObjectId) shard3.get("$gte")).getTimestamp());
+    }
+
+    @Test
+    @DisplayName("a single shard is not restricted at all")
+    void testSingleShardIsUnrestricted() {
+        assertTrue(JobShard.idCriteria(0, 1, 1_700_000_000L, 1_700_000_999L).getCriteriaObject().isEmpty());
+    }
+
+    private static Document range(int shard, int shardCount, long first, long last) {
+        return (Document) JobShard.idCriteria(shard, shardCount, first, last).getCriteriaObject().get("_id");
+    }
+}
@@ -0,0 +1,72 @@
+package com.nexus.investment_service.service;
+
+import com.nexus.investment_service.dto.FundingInvestmentDTO;
+import com.nexus.investment_service.dto.SlowRequestDTO;
+import com.nexus.investment_service.utils.PhaseTimings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestRecorderTest {
+
+    @Test
+    @DisplayName("keeps only the slowest N requests, slowest first, with their phase breakdown")
+    void testKeepsSlowest() {
+        SlowRequestRecorder recorder = new SlowRequestRecorder(2);
+
+        recorder.record(request("fast", 1));
+        recorder.record(request("slowest", 30));
+        recorder.record(request("slow", 15));
+        recorder.record(request("fast-again", 1));
+
+        List<SlowRequestDTO> slowest = recorder.getSlowest();
+        assertEquals(List.of("slowest", "slow"), slowest.stream().map(SlowRequestDTO::getOperation).toList());
+        assertTrue(slowest.get(0).getPhaseMillis().get("mongo-read") >= 30.0);
+    }
+
+    @Test
+    @DisplayName("Server-Timing value lists each phase, the call count of repeated phases and the total")
+    void testServerTimingFormat() {
+        PhaseTimings.start("POST /invest");
+        PhaseTimings.time("wallet-debit", "req-1", () -> {});
+        PhaseTimings.time("wallet-debit", "req-1", () -> {});
+        String header = PhaseTimings.current().toServerTiming();
+        PhaseTimings.end();
+
+        assertTrue(header.matches("wallet-debit;dur=\\d+\\.\\d;desc=\"2 calls\", total;dur=\\d+\\.\\d"), header);
+        assertNull(PhaseTimings.current());
+    }
+
+    @Test
+    @DisplayName("a non-positive capacity is rejected at startup")
+    void testRejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SlowRequestRecorder(0));
+    }
+
+    @Test
+    @DisplayName("the sequencer phase covers the stripe wait, not the batch work of the draining caller")
+    void testSequencerPhaseExcludesHandlerTime() {
+        InvestmentSequencer sequencer = new InvestmentSequencer(1, 10);
+        PhaseTimings.start("POST /invest");
+        sequencer.submit("req-1", new FundingInvestmentDTO(), (requestId, batch) -> {
+            PhaseTimings.time("mongo-save", requestId, () -> LockSupport.parkNanos(50_000_000));
+            batch.forEach(ticket -> ticket.complete(null));
+        });
+        PhaseTimings timings = PhaseTimings.end();
+
+        long waited = timings.getPhases().get("sequencer").getTotalNanos();
+        long save = timings.getPhases().get("mongo-save").getTotalNanos();
+        assertTrue(waited < 50_000_000, "sequencer=" + waited);
+        assertTrue(waited + save <= timings.getTotalNanos());
+    }
+
+    private static PhaseTimings request(String operation, long millis) {
+        PhaseTimings.start(operation);
+        PhaseTimings.time("mongo-read", "req-1", () -> LockSupport.parkNanos(millis * 1_000_000));
+        return PhaseTimings.end();
+    }
+}
@@ -0,0 +1,53 @@
+package com.nexus.investment_service.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("admits the burst, then rejects with the time until the next permit")
+    void testBurstThenReject() {
+        StripedRateLimiter limiter = new StripedRateLimiter(16, 2.0, 3);
+
+        assertEquals(0L, limiter.tryAcquire("user-1", 0L));
+        assertEquals(0L, limiter.tryAcquire("user-1", 0L));
+        assertEquals(0L, limiter.tryAcquire("user-1", 0L));
+
+        long wait = limiter.tryAcquire("user-1", 0L);
+        assertEquals(SECOND / 2, wait);
+    }
+
+    @Test
+    @DisplayName("refills at the configured rate")
+    void testRefill() {
+        StripedRateLimiter limiter = new StripedRateLimiter(16, 2.0, 1);
+
+        assertEquals(0L, limiter.tryAcquire("user-1", 0L));
+        assertTrue(limiter.tryAcquire("user-1", SECOND / 4) > 0);
+        assertEquals(0L, limiter.tryAcquire("user-1", SECOND / 2));
+    }
+
+    @Test
+    @DisplayName("a released permit can be taken again")
+    void testRelease() {
+        StripedRateLimiter limiter = new StripedRateLimiter(16, 2.0, 1);
+
+        assertEquals(0L, limiter.tryAcquire("user-1", 0L));
+        assertTrue(limiter.tryAcquire("user-1", 0L) > 0);
+        limiter.release("user-1");
+        assertEquals(0L, limiter.tryAcquire("user-1", 0L));
+    }
+
+    @Test
+    @DisplayName("rounds the stripe count up to a power of two and rejects invalid settings")
+    void testConstruction() {
+        assertDoesNotThrow(() -> new StripedRateLimiter(1000, 10.0, 1).tryAcquire("any"));
+        assertThrows(IllegalArgumentException.class, () -> new StripedRateLimiter(0, 10.0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new StripedRateLimiter(16, 0.0, 1));
+    }
+}